@@ -0,0 +1,85 @@
+package lswc.baselines.bic;
+
+import lswc.StreamingEdge;
+import lswc.benchmark.JmhStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Micro-benchmark of the bidirectional BFS of the bridging view
+// Every streaming edge (source, target) becomes the bipartite edge between the forward root source and the backward root target, labelled with a random interval of snapshot indices
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BridgingViewStoreBenchmark {
+    private static final int NUM_OF_QUERIES = 1 << 10;
+
+    @Param({""})
+    public String stream; // path of a recorded stream, or empty for a synthetic stream
+
+    @Param({"100000"})
+    public int numOfVertices;
+
+    @Param({"200000"})
+    public int numOfEdges;
+
+    @Param({"20"})
+    public int chunkSize;
+
+    private BridgingViewStore bridgingViewStore;
+    private RootPair[] rootsInB, rootsInF;
+    private int[] indices;
+    private int next;
+
+    @Setup
+    public void setup() {
+        BidirectionalIncrementalConnectivity.base = new boolean[chunkSize]; // used by the interval stores
+        Arrays.fill(BidirectionalIncrementalConnectivity.base, true);
+
+        List<StreamingEdge> streamingEdges = JmhStreams.load(stream, numOfVertices, numOfEdges);
+        Random random = new Random(0);
+        bridgingViewStore = new BridgingViewStore(chunkSize);
+        for (StreamingEdge streamingEdge : streamingEdges) {
+            int low = 1 + random.nextInt(chunkSize - 1);
+            int high = low + random.nextInt(chunkSize - low);
+            bridgingViewStore.edgeInsertion(streamingEdge.source, streamingEdge.target, low, high);
+        }
+
+        rootsInB = new RootPair[NUM_OF_QUERIES];
+        rootsInF = new RootPair[NUM_OF_QUERIES];
+        indices = new int[NUM_OF_QUERIES];
+        for (int i = 0; i < NUM_OF_QUERIES; i++) {
+            StreamingEdge source = streamingEdges.get(random.nextInt(streamingEdges.size())), target = streamingEdges.get(random.nextInt(streamingEdges.size()));
+            rootsInF[i] = new RootPair();
+            rootsInF[i].sourceRoot = source.source;
+            rootsInF[i].targetRoot = target.source;
+            rootsInB[i] = new RootPair();
+            rootsInB[i].sourceRoot = source.target;
+            rootsInB[i].targetRoot = target.target;
+            indices[i] = 1 + random.nextInt(chunkSize - 1);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public boolean query() {
+        int i = next++ & (NUM_OF_QUERIES - 1);
+        return bridgingViewStore.query(rootsInB[i], rootsInF[i], indices[i]);
+    }
+}
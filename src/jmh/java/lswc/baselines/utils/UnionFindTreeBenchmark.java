@@ -0,0 +1,59 @@
+package lswc.baselines.utils;
+
+import lswc.StreamingEdge;
+import lswc.benchmark.JmhStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Micro-benchmark of union, measured per edge over building the union-find tree of a whole stream, as done by RWC for every window
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UnionFindTreeBenchmark {
+    private static final int NUM_OF_EDGES = 100_000;
+
+    @Param({""})
+    public String stream; // path of a recorded stream, or empty for a synthetic stream
+
+    @Param({"50000"})
+    public int numOfVertices;
+
+    private int[] sources, targets;
+
+    @Setup
+    public void setup() {
+        List<StreamingEdge> streamingEdges = JmhStreams.load(stream, numOfVertices, NUM_OF_EDGES);
+        sources = new int[NUM_OF_EDGES];
+        targets = new int[NUM_OF_EDGES];
+        for (int i = 0; i < NUM_OF_EDGES; i++) { // a recorded stream shorter than NUM_OF_EDGES is repeated
+            StreamingEdge streamingEdge = streamingEdges.get(i % streamingEdges.size());
+            sources[i] = streamingEdge.source;
+            targets[i] = streamingEdge.target;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_EDGES)
+    public int union() {
+        UnionFindTree unionFindTree = new UnionFindTree();
+        for (int i = 0; i < NUM_OF_EDGES; i++)
+            unionFindTree.union(sources[i], targets[i]);
+        return unionFindTree.getCount();
+    }
+}
@@ -0,0 +1,31 @@
+package lswc.benchmark;
+
+import lswc.StreamingEdge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Streams used by the JMH benchmarks
+// A recorded stream is read from the given path (in the format of the datasets, see GraphUtils.readStreamingGraph), otherwise a synthetic stream is generated
+public class JmhStreams {
+    public static List<StreamingEdge> load(String path, int numOfVertices, int numOfEdges) {
+        if (path.isEmpty())
+            return synthetic(numOfVertices, numOfEdges);
+
+        List<StreamingEdge> streamingEdges = GraphUtils.readStreamingGraph(path, ",");
+        return numOfEdges < streamingEdges.size() ? new ArrayList<>(streamingEdges.subList(0, numOfEdges)) : streamingEdges;
+    }
+
+    // uniformly random edges without self-loops, one edge per timestamp
+    private static List<StreamingEdge> synthetic(int numOfVertices, int numOfEdges) {
+        Random random = new Random(0);
+        List<StreamingEdge> streamingEdges = new ArrayList<>(numOfEdges);
+        while (streamingEdges.size() < numOfEdges) {
+            int source = random.nextInt(numOfVertices), target = random.nextInt(numOfVertices);
+            if (source != target)
+                streamingEdges.add(new StreamingEdge(source, target, streamingEdges.size()));
+        }
+        return streamingEdges;
+    }
+}
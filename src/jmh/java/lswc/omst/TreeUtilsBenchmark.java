@@ -0,0 +1,93 @@
+package lswc.omst;
+
+import lswc.StreamingEdge;
+import lswc.benchmark.JmhStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Micro-benchmarks of findLCA and reRoot on the spanning forest built by replaying a stream into the OMST D-Tree or S-Tree
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TreeUtilsBenchmark {
+    private static final int NUM_OF_PAIRS = 1 << 12;
+
+    @Param({""})
+    public String stream; // path of a recorded stream, or empty for a synthetic stream
+
+    @Param({"100000"})
+    public int numOfVertices;
+
+    @Param({"500000"})
+    public int numOfEdges;
+
+    @Param({"DTree", "STree"})
+    public String tree;
+
+    private OptimizedNode[] sources, targets; // pairs of connected nodes
+    private OptimizedNode[] nodes;
+    private OptimizedTreeEdge minimumEdge;
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<StreamingEdge> streamingEdges = JmhStreams.load(stream, numOfVertices, numOfEdges);
+        NodeMaximumSpanningTree mst = tree.equals("DTree") ? new OptimizedMstDTreeImpl() : new OptimizedMstSTreeImpl();
+        for (StreamingEdge streamingEdge : streamingEdges)
+            mst.insertEdge(streamingEdge.source, streamingEdge.target, streamingEdge.timeStamp);
+
+        List<OptimizedNode> nonRoots = new ArrayList<>();
+        for (StreamingEdge streamingEdge : streamingEdges) {
+            OptimizedNode node = mst.getNode(streamingEdge.source);
+            if (node.parent != null)
+                nonRoots.add(node);
+        }
+
+        Random random = new Random(0);
+        sources = new OptimizedNode[NUM_OF_PAIRS];
+        targets = new OptimizedNode[NUM_OF_PAIRS];
+        nodes = new OptimizedNode[NUM_OF_PAIRS];
+        for (int i = 0; i < NUM_OF_PAIRS; i++) {
+            OptimizedNode source, target;
+            do { // findLCA requires the two nodes to be connected
+                source = nonRoots.get(random.nextInt(nonRoots.size()));
+                target = nonRoots.get(random.nextInt(nonRoots.size()));
+            } while (TreeUtils.findRoot(source) != TreeUtils.findRoot(target));
+            sources[i] = source;
+            targets[i] = target;
+            nodes[i] = nonRoots.get(random.nextInt(nonRoots.size()));
+        }
+        minimumEdge = new OptimizedTreeEdge();
+        next = 0;
+    }
+
+    @Benchmark
+    public long findLCA() {
+        int i = next++ & (NUM_OF_PAIRS - 1);
+        TreeUtils.findLCA(sources[i], targets[i], minimumEdge);
+        return minimumEdge.weight;
+    }
+
+    // every call re-roots the tree at a random node, such that the depth of the nodes is not reset between calls
+    @Benchmark
+    public OptimizedNode reRoot() {
+        return TreeUtils.reRoot(nodes[next++ & (NUM_OF_PAIRS - 1)]);
+    }
+}
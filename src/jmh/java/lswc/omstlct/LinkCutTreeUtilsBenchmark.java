@@ -0,0 +1,75 @@
+package lswc.omstlct;
+
+import lswc.StreamingEdge;
+import lswc.benchmark.JmhStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Micro-benchmarks of access, and of cutting a tree edge and linking it back, on the link-cut trees built by replaying a stream into the OMST LC-Tree
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LinkCutTreeUtilsBenchmark {
+    private static final int NUM_OF_NODES = 1 << 12;
+
+    @Param({""})
+    public String stream; // path of a recorded stream, or empty for a synthetic stream
+
+    @Param({"100000"})
+    public int numOfVertices;
+
+    @Param({"500000"})
+    public int numOfEdges;
+
+    private LctNode[] nodes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<StreamingEdge> streamingEdges = JmhStreams.load(stream, numOfVertices, numOfEdges);
+        OmstLctImpl lct = new OmstLctImpl(false);
+        for (StreamingEdge streamingEdge : streamingEdges)
+            lct.insertEdge(streamingEdge.source, streamingEdge.target, streamingEdge.timeStamp);
+
+        Random random = new Random(0);
+        nodes = new LctNode[NUM_OF_NODES];
+        for (int i = 0; i < NUM_OF_NODES; i++)
+            nodes[i] = lct.getNode(streamingEdges.get(random.nextInt(streamingEdges.size())).source);
+        next = 0;
+    }
+
+    @Benchmark
+    public LctNode access() {
+        return LinkCutTreeUtils.access(nodes[next++ & (NUM_OF_NODES - 1)]);
+    }
+
+    // the tree edge of a random node to its parent is cut and then linked back, such that the forest is the same after every call
+    @Benchmark
+    public LctNode cutAndLink() {
+        LctNode child = nodes[next++ & (NUM_OF_NODES - 1)];
+        while (child.repParent == null) // roots change with re-rooting during linking
+            child = nodes[next++ & (NUM_OF_NODES - 1)];
+
+        LctNode parent = child.repParent;
+        long weight = child.repTreeEdgeWeight;
+        LinkCutTreeUtils.cut(child);
+        LinkCutTreeUtils.link(child, parent, weight, null);
+        return parent;
+    }
+}
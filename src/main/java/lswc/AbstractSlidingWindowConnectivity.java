@@ -3,18 +3,28 @@ package lswc;
 import it.unimi.dsi.fastutil.ints.IntIntPair;
 import org.jgrapht.alg.util.Pair;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 
 public abstract class AbstractSlidingWindowConnectivity {
+    private static final int DEFAULT_BATCH_CAPACITY = 1 << 10;
+
     protected final long range, slide;
     protected final boolean isRangeMultipleOfSlide;
 
     protected List<IntIntPair> workload;
 
+    // the slide cursor of computeSlidingWindowConnectivity, kept for checkpoints
+    private long startOfNextWindow;
+    private long lastTimeStamp; // the latest timestamp in the window
+    private boolean isFirstWindow; // the first window instance since the start or the restart is not followed by manage
+    private long numOfIngestedEdges;
+
     @Deprecated
     public AbstractSlidingWindowConnectivity(Duration range, Duration slide) {
         this.range = range.toMillis();
@@ -29,64 +39,129 @@ public abstract class AbstractSlidingWindowConnectivity {
         this.workload = workload;
     }
 
-    // assuming timestamps of streaming edges are contiguous, i.e., the difference between every two adjacent time stamps is less than a slide interval
     // the content of the every window instance: [t_start, t_end)
+    // the edges arriving between two window instances are buffered and inserted as a batch right before the query
+    // timestamps of streaming edges need not be contiguous, an edge after a gap larger than a slide triggers every window instance ending before it
     public void computeSlidingWindowConnectivity(Collection<StreamingEdge> inputStream, List<List<Boolean>> outputStreams) {
-        if (inputStream.isEmpty())
-            return;
+        computeSlidingWindowConnectivity(EdgeSource.of(inputStream), outputStreams);
+    }
 
+    // the edges are pulled from the source, such that only the current window and the edges of the next slide are held
+    // the window instances which still contain edges are computed one by one, and once the window is empty,
+    // the remaining window instances before the edge are all-disconnected, such that they are emitted at once and the engine is restarted
+    public void computeSlidingWindowConnectivity(EdgeSource edgeSource, List<List<Boolean>> outputStreams) {
         final int num = outputStreams.size();
         if (workload.size() != num)
             return;
 
-        Iterator<StreamingEdge> streamingEdgeIterator = inputStream.iterator();
-        StreamingEdge streamingEdge = streamingEdgeIterator.next();
-        long startOfCurrentWindow = streamingEdge.timeStamp;
-        insert(streamingEdge);
+        if (!edgeSource.advance())
+            return;
 
+        startOfNextWindow = edgeSource.timeStamp();
+        lastTimeStamp = startOfNextWindow;
+        isFirstWindow = true;
+        numOfIngestedEdges = 0;
+        slideWindow(edgeSource, outputStreams);
+    }
 
-        while (streamingEdgeIterator.hasNext()) { // make the first window instance full
-            streamingEdge = streamingEdgeIterator.next();
-            if (streamingEdge.timeStamp - startOfCurrentWindow < range)
-                insert(streamingEdge);
-            else
-                break;
-        }
+    // continues computeSlidingWindowConnectivity with the edges after the latest one ingested, e.g., by an engine restored from a checkpoint
+    public void resumeSlidingWindowConnectivity(EdgeSource edgeSource, List<List<Boolean>> outputStreams) {
+        final int num = outputStreams.size();
+        if (workload.size() != num)
+            return;
 
-        query(workload, outputStreams);
-        startOfCurrentWindow += slide;
-        evict(startOfCurrentWindow); // first evict
-        insert(streamingEdge);
+        if (!edgeSource.advance())
+            return;
 
-        while (streamingEdgeIterator.hasNext()) {
-            streamingEdge = streamingEdgeIterator.next();
-            if (streamingEdge.timeStamp - startOfCurrentWindow >= range) { // compute query result
-                query(workload, outputStreams);
-                startOfCurrentWindow += slide;
-                evict(startOfCurrentWindow);
-                manage(streamingEdge.timeStamp);
+        slideWindow(edgeSource, outputStreams);
+    }
+
+    // the current edge of the source is the first one to process
+    private void slideWindow(EdgeSource edgeSource, List<List<Boolean>> outputStreams) {
+        StreamingEdge[] batch = new StreamingEdge[DEFAULT_BATCH_CAPACITY];
+        int size = 0;
+
+        do {
+            long timeStamp = edgeSource.timeStamp();
+            if (timeStamp - startOfNextWindow >= range) { // compute query result
+                insertBatch(batch, 0, size);
+                Arrays.fill(batch, 0, size, null);
+                size = 0;
+
+                do {
+                    if (startOfNextWindow > lastTimeStamp) { // the window is empty, and so are the next ones ending before the edge
+                        long numOfWindows = (timeStamp - range - startOfNextWindow) / slide + 1;
+                        addDisconnected(outputStreams, Math.toIntExact(numOfWindows));
+                        startOfNextWindow += numOfWindows * slide;
+                        restart(startOfNextWindow);
+                        isFirstWindow = true;
+                        break;
+                    }
+
+                    query(workload, outputStreams);
+                    startOfNextWindow += slide;
+                    evict(startOfNextWindow);
+                    if (!isFirstWindow) // first evict
+                        manage(timeStamp);
+                    isFirstWindow = false;
+                } while (timeStamp - startOfNextWindow >= range);
             }
-            insert(streamingEdge);
-        }
+            if (size == batch.length)
+                batch = Arrays.copyOf(batch, size << 1);
+            batch[size++] = edgeSource.streamingEdge();
+            lastTimeStamp = timeStamp;
+            numOfIngestedEdges++;
+        } while (edgeSource.advance());
+        insertBatch(batch, 0, size);
+    }
+
+    // the writer of a checkpoint holding the slide cursor of computeSlidingWindowConnectivity, to which a Checkpointable engine adds its own states and sections
+    protected WindowCheckpoint.Writer checkpointWriter() {
+        return new WindowCheckpoint.Writer(range, slide, startOfNextWindow, lastTimeStamp, numOfIngestedEdges, isFirstWindow);
+    }
+
+    // restores the slide cursor from the file into a new engine with the same parameters, and returns the checkpoint for a Checkpointable engine to restore its own state
+    protected WindowCheckpoint restoreCursor(Path path) {
+        WindowCheckpoint checkpoint = WindowCheckpoint.open(path);
+        if (checkpoint.range() != range || checkpoint.slide() != slide)
+            throw new IllegalArgumentException("The checkpoint has the range " + checkpoint.range() + " and the slide " + checkpoint.slide() + ": " + path);
+        startOfNextWindow = checkpoint.startOfNextWindow();
+        lastTimeStamp = checkpoint.lastTimeStamp();
+        isFirstWindow = checkpoint.isFirstWindow();
+        numOfIngestedEdges = checkpoint.numOfEdges();
+        return checkpoint;
+    }
+
+    // the num of edges ingested by computeSlidingWindowConnectivity and resumeSlidingWindowConnectivity, including the ones of the restored checkpoint
+    public long numOfIngestedEdges() {
+        return numOfIngestedEdges;
+    }
+
+    // the start of the window instance to compute next, i.e., the edges older than it have been evicted
+    public long startOfNextWindow() {
+        return startOfNextWindow;
     }
 
     // test only for latency experiments
     public void computeSlidingWindowConnectivity(Collection<StreamingEdge> inputStream, List<List<Boolean>> outputStreams, List<Pair<Long, Long>> latencyResults) {
-        if (inputStream.isEmpty())
-            return;
+        computeSlidingWindowConnectivity(EdgeSource.of(inputStream), outputStreams, latencyResults);
+    }
 
+    public void computeSlidingWindowConnectivity(EdgeSource edgeSource, List<List<Boolean>> outputStreams, List<Pair<Long, Long>> latencyResults) {
         final int num = outputStreams.size();
         if (workload.size() != num)
             return;
 
-        Iterator<StreamingEdge> streamingEdgeIterator = inputStream.iterator();
-        StreamingEdge streamingEdge = streamingEdgeIterator.next();
+        if (!edgeSource.advance())
+            return;
+
+        StreamingEdge streamingEdge = edgeSource.streamingEdge();
 
         long startOfCurrentWindow = streamingEdge.timeStamp;
         insert(streamingEdge);
 
-        while (streamingEdgeIterator.hasNext()) { // make the first window instance full
-            streamingEdge = streamingEdgeIterator.next();
+        while (edgeSource.advance()) { // make the first window instance full
+            streamingEdge = edgeSource.streamingEdge();
             if (streamingEdge.timeStamp - startOfCurrentWindow < range)
                 insert(streamingEdge);
             else
@@ -100,8 +175,8 @@ public abstract class AbstractSlidingWindowConnectivity {
 
         long start, end, queryTime, manageTime;
 
-        while (streamingEdgeIterator.hasNext()) {
-            streamingEdge = streamingEdgeIterator.next();
+        while (edgeSource.advance()) {
+            streamingEdge = edgeSource.streamingEdge();
             if (streamingEdge.timeStamp - startOfCurrentWindow >= range) { // compute query result
 
                 start = System.nanoTime();
@@ -125,20 +200,23 @@ public abstract class AbstractSlidingWindowConnectivity {
     }
 
     public void computeQueriesAndGetMemoryConsumption(Collection<StreamingEdge> inputStream, List<List<Boolean>> outputStreams, List<Long> memoryConsumptionPerWindow) {
-        if (inputStream.isEmpty())
-            return;
+        computeQueriesAndGetMemoryConsumption(EdgeSource.of(inputStream), outputStreams, memoryConsumptionPerWindow);
+    }
 
+    public void computeQueriesAndGetMemoryConsumption(EdgeSource edgeSource, List<List<Boolean>> outputStreams, List<Long> memoryConsumptionPerWindow) {
         final int num = outputStreams.size();
         if (workload.size() != num)
             return;
 
-        Iterator<StreamingEdge> streamingEdgeIterator = inputStream.iterator();
-        StreamingEdge streamingEdge = streamingEdgeIterator.next();
+        if (!edgeSource.advance())
+            return;
+
+        StreamingEdge streamingEdge = edgeSource.streamingEdge();
         long startOfCurrentWindow = streamingEdge.timeStamp;
         insert(streamingEdge);
 
-        while (streamingEdgeIterator.hasNext()) { // make the first window instance full
-            streamingEdge = streamingEdgeIterator.next();
+        while (edgeSource.advance()) { // make the first window instance full
+            streamingEdge = edgeSource.streamingEdge();
             if (streamingEdge.timeStamp - startOfCurrentWindow < range)
                 insert(streamingEdge);
             else
@@ -151,8 +229,8 @@ public abstract class AbstractSlidingWindowConnectivity {
         insert(streamingEdge);
 
 
-        while (streamingEdgeIterator.hasNext()) {
-            streamingEdge = streamingEdgeIterator.next();
+        while (edgeSource.advance()) {
+            streamingEdge = edgeSource.streamingEdge();
             if (streamingEdge.timeStamp - startOfCurrentWindow >= range) { // compute query result
                 query(workload, outputStreams);
                 startOfCurrentWindow += slide;
@@ -168,9 +246,29 @@ public abstract class AbstractSlidingWindowConnectivity {
 
     public abstract void insert(StreamingEdge streamingEdge);
 
+    // insert the streaming edges in [from, to), which are in the order of their timestamps
+    // engines can override it to process the edges arriving within a slide together
+    public void insertBatch(StreamingEdge[] streamingEdges, int from, int to) {
+        for (int i = from; i < to; i++)
+            insert(streamingEdges[i]);
+    }
+
     // evict all the streaming edges, whose timestamp are less than the lessThan time
     public abstract void evict(long lessThan);
 
+    // adds the results of the empty window instances skipped after a gap, where all the queries are disconnected
+    // engines with further outputs, e.g., for registered ranges, override it to add their results as well
+    protected void addDisconnected(List<List<Boolean>> outputStreams, int numOfWindows) {
+        for (List<Boolean> outputStream : outputStreams)
+            outputStream.addAll(Collections.nCopies(numOfWindows, Boolean.FALSE));
+    }
+
+    // called after a gap, when the window is empty and the next window instance starts at the startOfWindow time
+    // engines whose state is aligned to the start of the stream, e.g., the chunks of BIC, override it to start over from the startOfWindow time
+    public void restart(long startOfWindow) {
+        evict(startOfWindow);
+    }
+
     public abstract boolean query(int source, int target);
 
     public abstract void query(List<IntIntPair> queries, List<List<Boolean>> outputStreams);
@@ -0,0 +1,25 @@
+package lswc;
+
+import java.nio.file.Path;
+import java.util.List;
+
+// Engine whose state between two window instances of computeSlidingWindowConnectivity can be written into a WindowCheckpoint and restored from it,
+// e.g., by DurableIngestion, see AbstractSlidingWindowConnectivity for the slide cursor shared by all the engines
+public interface Checkpointable {
+    // writes the engine and the slide cursor into the file, after all the ingested edges have been inserted
+    // the engines write their spanning forests instead of their windows, such that restore scales with the num of vertices rather than the num of edges
+    void checkpoint(Path path);
+
+    // restores a new engine with the same parameters from the file, such that resumeSlidingWindowConnectivity continues with identical results
+    void restore(Path path);
+
+    void computeSlidingWindowConnectivity(EdgeSource edgeSource, List<List<Boolean>> outputStreams);
+
+    void resumeSlidingWindowConnectivity(EdgeSource edgeSource, List<List<Boolean>> outputStreams);
+
+    // the num of edges ingested by computeSlidingWindowConnectivity and resumeSlidingWindowConnectivity, including the ones of the restored checkpoint
+    long numOfIngestedEdges();
+
+    // the start of the window instance to compute next, i.e., the edges older than it have been evicted
+    long startOfNextWindow();
+}
@@ -0,0 +1,66 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+import java.util.function.BiConsumer;
+
+// Connectivity of the latest window instance of an engine, to be read by other threads while the engine keeps ingesting
+// At every window instance, the engine labels the vertices of its window by the roots of their trees into a new map, which is published by a volatile write
+// A published map is never modified, such that readers never block the engine, and the engine does not synchronise per edge
+public class ConcurrentLabelView {
+    private static final class Snapshot {
+        final Int2IntOpenHashMap labels;
+        final long epoch; // the num of window instances published before
+
+        Snapshot(Int2IntOpenHashMap labels, long epoch) {
+            this.labels = labels;
+            this.epoch = epoch;
+        }
+    }
+
+    private volatile Snapshot snapshot;
+
+    public ConcurrentLabelView() {
+        this.snapshot = new Snapshot(emptyLabels(), -1);
+    }
+
+    private static Int2IntOpenHashMap emptyLabels() {
+        Int2IntOpenHashMap labels = new Int2IntOpenHashMap();
+        labels.defaultReturnValue(ParallelQueryTask.NO_LABEL);
+        return labels;
+    }
+
+    // whether source and target are connected in the latest published window instance
+    public boolean connected(int source, int target) {
+        Int2IntOpenHashMap labels = snapshot.labels; // both labels are read from the same snapshot
+        int labelOfSource = labels.get(source);
+        return labelOfSource != ParallelQueryTask.NO_LABEL && labelOfSource == labels.get(target);
+    }
+
+    // the index of the latest published window instance, or -1 before the first one
+    public long epoch() {
+        return snapshot.epoch;
+    }
+
+    // called by the engine at a window instance, where rootLabels fills the labels of the given vertices in the same order
+    // the vertices in the window are the endpoints of the edges of the window, which holds about the tree edges only, see concurrentView of the engines
+    public void publish(WindowStore window, BiConsumer<int[], int[]> rootLabels) {
+        IntOpenHashSet vertices = new IntOpenHashSet(window.size());
+        for (int i = 0, size = window.size(); i < size; i++) {
+            vertices.add(window.source(i));
+            vertices.add(window.target(i));
+        }
+        int[] keys = vertices.toIntArray(), values = new int[keys.length];
+        rootLabels.accept(keys, values);
+
+        Int2IntOpenHashMap labels = new Int2IntOpenHashMap(keys, values);
+        labels.defaultReturnValue(ParallelQueryTask.NO_LABEL);
+        snapshot = new Snapshot(labels, snapshot.epoch + 1);
+    }
+
+    // called by the engine for the empty window instances skipped after a gap
+    public void publishEmpty(int numOfWindows) {
+        snapshot = new Snapshot(emptyLabels(), snapshot.epoch + numOfWindows);
+    }
+}
@@ -0,0 +1,133 @@
+package lswc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Durable ingestion of a stream into an engine, with the write-ahead EdgeLog of the ingested edges and periodic checkpoints of the engine
+// Every edge pulled from the source is appended to the log before it is processed, and the log is synced once per group of edges
+// The stream is processed in portions of the checkpoint interval, after each of which the engine is checkpointed, see Checkpointable,
+// and the segments covered by the checkpoint whose edges have left the window are deleted, such that the log holds about the edges of a range
+// Recovery restores the latest checkpoint and replays only the edges logged after it
+public class DurableIngestion implements AutoCloseable {
+    private static final String CHECKPOINT = "checkpoint.bin";
+    public static final int DEFAULT_SYNC_INTERVAL = 1 << 12;
+    public static final long DEFAULT_CHECKPOINT_INTERVAL = 1L << 22;
+
+    private final Checkpointable engine;
+    private final EdgeLog edgeLog;
+    private final Path checkpoint;
+    private final int syncInterval;
+    private final long checkpointInterval;
+    private boolean isStarted; // whether the engine has ingested an edge, such that the stream is resumed rather than started
+
+    public DurableIngestion(Checkpointable engine, Path directory) {
+        this(engine, directory, EdgeLog.DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    // the intervals are in num of edges
+    public DurableIngestion(Checkpointable engine, Path directory, long segmentSize, int syncInterval, long checkpointInterval) {
+        this.engine = engine;
+        this.edgeLog = EdgeLog.open(directory, segmentSize);
+        this.checkpoint = directory.resolve(CHECKPOINT);
+        this.syncInterval = syncInterval;
+        this.checkpointInterval = checkpointInterval;
+        this.isStarted = false;
+    }
+
+    // restores the latest checkpoint into the new engine and replays the edges logged after it, whose window instances are added to the output streams again
+    // returns the num of logged edges, i.e., the position in the stream from which computeSlidingWindowConnectivity continues
+    public long recover(List<List<Boolean>> outputStreams) {
+        long fromSequence = 0;
+        if (Files.exists(checkpoint)) {
+            engine.restore(checkpoint);
+            fromSequence = engine.numOfIngestedEdges();
+            isStarted = true;
+        }
+        slideWindow(edgeLog.read(fromSequence), outputStreams);
+        return edgeLog.numOfEdges();
+    }
+
+    // processes the edges of the source, which are the ones of the stream after the logged edges
+    public void computeSlidingWindowConnectivity(EdgeSource edgeSource, List<List<Boolean>> outputStreams) {
+        LoggedEdgeSource loggedEdgeSource = new LoggedEdgeSource(edgeSource);
+        do {
+            loggedEdgeSource.remaining = checkpointInterval;
+            slideWindow(loggedEdgeSource, outputStreams);
+            edgeLog.sync();
+            if (!isStarted)
+                return;
+            engine.checkpoint(checkpoint); // forced with its directory, such that the checkpoint is durable before the segments it covers are deleted
+            edgeLog.truncate(engine.numOfIngestedEdges(), engine.startOfNextWindow());
+        } while (!loggedEdgeSource.isExhausted);
+    }
+
+    private void slideWindow(EdgeSource edgeSource, List<List<Boolean>> outputStreams) {
+        if (isStarted)
+            engine.resumeSlidingWindowConnectivity(edgeSource, outputStreams);
+        else {
+            engine.computeSlidingWindowConnectivity(edgeSource, outputStreams);
+            isStarted = engine.numOfIngestedEdges() > 0;
+        }
+    }
+
+    public EdgeLog edgeLog() {
+        return edgeLog;
+    }
+
+    @Override
+    public void close() {
+        edgeLog.close();
+    }
+
+    // appends every pulled edge to the log, and ends after the remaining num of edges of the portion
+    private class LoggedEdgeSource implements EdgeSource {
+        private final EdgeSource upstream;
+        private long remaining;
+        private boolean isExhausted;
+        private int numSinceSync;
+
+        LoggedEdgeSource(EdgeSource upstream) {
+            this.upstream = upstream;
+            this.isExhausted = false;
+            this.numSinceSync = 0;
+        }
+
+        @Override
+        public boolean advance() {
+            if (remaining == 0)
+                return false;
+            if (!upstream.advance()) {
+                isExhausted = true;
+                return false;
+            }
+            remaining--;
+            edgeLog.append(upstream.source(), upstream.target(), upstream.timeStamp());
+            if (++numSinceSync == syncInterval) { // group commit
+                edgeLog.sync();
+                numSinceSync = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public int source() {
+            return upstream.source();
+        }
+
+        @Override
+        public int target() {
+            return upstream.target();
+        }
+
+        @Override
+        public long timeStamp() {
+            return upstream.timeStamp();
+        }
+
+        @Override
+        public StreamingEdge streamingEdge() {
+            return upstream.streamingEdge();
+        }
+    }
+}
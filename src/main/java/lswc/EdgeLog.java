@@ -0,0 +1,270 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Write-ahead log of streaming edges in a directory of append-only segments, where every edge is a record of source, target (ints) and timestamp (long)
+// A segment is named by the sequence number of its first edge, i.e., the num of edges logged before it, and is closed once it reaches the segment size
+// Appended edges are buffered and written in batches, while sync forces them to the disk, such that an fsync is shared by all the edges since the previous one
+// A torn record at the end of the last segment after a crash is cut off on open, and appending continues in a new segment
+// The directory is forced whenever a segment is created or deleted, such that a power loss neither loses a synced segment nor brings back a deleted one
+public class EdgeLog implements AutoCloseable {
+    private static final String SUFFIX = ".log";
+    private static final int RECORD_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    public static final long DEFAULT_SEGMENT_SIZE = 1L << 26;
+    private static final long MAX_SEGMENT_SIZE = 1L << 30; // a segment is mapped as a whole for reading
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ByteBuffer buffer;
+
+    // the closed segments in the order of their sequence numbers, with the latest timestamp of each
+    private final LongArrayList firstSequences, lastTimeStamps;
+
+    private FileChannel channel; // the open segment, or null before the first append after open or rotation
+    private long firstSequenceOfChannel, sizeOfChannel;
+    private long numOfEdges; // the sequence number of the next edge
+    private long lastTimeStamp;
+
+    private EdgeLog(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        this.firstSequences = new LongArrayList();
+        this.lastTimeStamps = new LongArrayList();
+        this.lastTimeStamp = Long.MIN_VALUE;
+    }
+
+    public static EdgeLog open(Path directory) {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    // opens the log in the directory, which is created if absent, where the edges are appended after the logged ones
+    public static EdgeLog open(Path directory, long segmentSize) {
+        if (segmentSize < RECORD_SIZE || segmentSize > MAX_SEGMENT_SIZE)
+            throw new IllegalArgumentException("The segment size must be between " + RECORD_SIZE + " and " + MAX_SEGMENT_SIZE + ": " + segmentSize);
+        EdgeLog edgeLog = new EdgeLog(directory, segmentSize - segmentSize % RECORD_SIZE);
+        try {
+            Files.createDirectories(directory);
+            for (long firstSequence : segments(directory)) {
+                Path path = edgeLog.segment(firstSequence);
+                long numOfRecords = Files.size(path) / RECORD_SIZE;
+                try (FileChannel segment = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    segment.truncate(numOfRecords * RECORD_SIZE); // the torn record of a crash
+                    if (numOfRecords == 0)
+                        continue;
+                    ByteBuffer last = ByteBuffer.allocate(Long.BYTES);
+                    segment.read(last, numOfRecords * RECORD_SIZE - Long.BYTES);
+                    edgeLog.lastTimeStamp = last.flip().getLong();
+                }
+                edgeLog.firstSequences.add(firstSequence);
+                edgeLog.lastTimeStamps.add(edgeLog.lastTimeStamp);
+                edgeLog.numOfEdges = firstSequence + numOfRecords;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return edgeLog;
+    }
+
+    // the sequence numbers of the segments in the directory in ascending order
+    private static long[] segments(Path directory) throws IOException {
+        LongArrayList firstSequences = new LongArrayList();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : paths) {
+                String name = path.getFileName().toString();
+                firstSequences.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+            }
+        }
+        long[] sorted = firstSequences.toLongArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private Path segment(long firstSequence) {
+        return directory.resolve(String.format("%020d", firstSequence) + SUFFIX);
+    }
+
+    public void append(int source, int target, long timeStamp) {
+        try {
+            if (channel == null) {
+                firstSequenceOfChannel = numOfEdges;
+                sizeOfChannel = 0;
+                channel = FileChannel.open(segment(firstSequenceOfChannel), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                WindowCheckpoint.forceDirectory(directory);
+            }
+            if (buffer.remaining() < RECORD_SIZE)
+                drain();
+            buffer.putInt(source).putInt(target).putLong(timeStamp);
+            numOfEdges++;
+            lastTimeStamp = timeStamp;
+            if ((sizeOfChannel += RECORD_SIZE) >= segmentSize)
+                rotate();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // the full segment is forced and closed, and the next edge opens a new one
+    private void rotate() throws IOException {
+        drain();
+        channel.force(false);
+        channel.close();
+        channel = null;
+        firstSequences.add(firstSequenceOfChannel);
+        lastTimeStamps.add(lastTimeStamp);
+    }
+
+    // writes the buffered edges and forces them to the disk, i.e., all the edges appended so far are durable
+    public void sync() {
+        if (channel == null)
+            return;
+        try {
+            drain();
+            channel.force(false);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // the num of edges logged, including the ones of previous runs, i.e., the sequence number of the next edge
+    public long numOfEdges() {
+        return numOfEdges;
+    }
+
+    public int numOfSegments() {
+        return firstSequences.size() + (channel == null ? 0 : 1);
+    }
+
+    // deletes the closed segments whose edges are all before the sequence number and older than the timestamp,
+    // i.e., covered by a checkpoint and evicted from its window, such that the log holds about the edges of a range
+    public int truncate(long beforeSequence, long olderThan) {
+        int num = 0;
+        try {
+            while (num < firstSequences.size()) {
+                long end = num + 1 < firstSequences.size() ? firstSequences.getLong(num + 1) : channel != null ? firstSequenceOfChannel : numOfEdges;
+                if (end > beforeSequence || lastTimeStamps.getLong(num) >= olderThan)
+                    break;
+                Files.deleteIfExists(segment(firstSequences.getLong(num)));
+                num++;
+            }
+            if (num > 0)
+                WindowCheckpoint.forceDirectory(directory);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        firstSequences.removeElements(0, num);
+        lastTimeStamps.removeElements(0, num);
+        return num;
+    }
+
+    // the logged edges from the sequence number on, where the segments are mapped one by one
+    // the log is synced first, and the edges appended later are not read
+    public EdgeSource read(long fromSequence) {
+        sync();
+        LongArrayList sequences = new LongArrayList(firstSequences);
+        if (channel != null)
+            sequences.add(firstSequenceOfChannel);
+        if (!sequences.isEmpty() && fromSequence < sequences.getLong(0))
+            throw new IllegalArgumentException("The edges before " + sequences.getLong(0) + " have been truncated: " + fromSequence);
+        long end = numOfEdges;
+
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < sequences.size(); i++) {
+            long next = i + 1 < sequences.size() ? sequences.getLong(i + 1) : end;
+            if (next > fromSequence)
+                paths.add(segment(sequences.getLong(i)));
+        }
+        long skip = paths.isEmpty() ? 0 : fromSequence - sequences.getLong(sequences.size() - paths.size());
+        return new SegmentEdgeSource(paths, skip, Math.max(0, end - fromSequence));
+    }
+
+    @Override
+    public void close() {
+        if (channel == null)
+            return;
+        try {
+            drain();
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        channel = null;
+        firstSequences.add(firstSequenceOfChannel);
+        lastTimeStamps.add(lastTimeStamp);
+    }
+
+    private static class SegmentEdgeSource implements EdgeSource {
+        private final List<Path> paths;
+        private int next; // the index of the next segment to map
+        private MappedByteBuffer segment;
+        private long remaining; // the num of edges to read
+        private long skip; // the num of records to skip in the first segment
+
+        private int source, target;
+        private long timeStamp;
+
+        SegmentEdgeSource(List<Path> paths, long skip, long remaining) {
+            this.paths = paths;
+            this.skip = skip;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean advance() {
+            if (remaining == 0)
+                return false;
+            while (segment == null || !segment.hasRemaining()) {
+                if (next == paths.size())
+                    return false;
+                try (FileChannel channel = FileChannel.open(paths.get(next++), StandardOpenOption.READ)) {
+                    segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size() - channel.size() % RECORD_SIZE);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                segment.position((int) (skip * RECORD_SIZE));
+                skip = 0;
+            }
+            source = segment.getInt();
+            target = segment.getInt();
+            timeStamp = segment.getLong();
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public int source() {
+            return source;
+        }
+
+        @Override
+        public int target() {
+            return target;
+        }
+
+        @Override
+        public long timeStamp() {
+            return timeStamp;
+        }
+    }
+}
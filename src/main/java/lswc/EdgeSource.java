@@ -0,0 +1,57 @@
+package lswc;
+
+import java.util.Iterator;
+
+// Pull-based stream of edges in primitive form, in the order of their timestamps
+// advance() moves to the next edge, whose endpoints and timestamp are read by source(), target() and timeStamp() until the following advance()
+// A source may be unbounded, the sliding window drivers only turn the edges of the current window into StreamingEdge objects
+public interface EdgeSource {
+    // returns false if there is no more edge
+    boolean advance();
+
+    int source();
+
+    int target();
+
+    long timeStamp();
+
+    // the current edge as an object to be inserted into a window
+    default StreamingEdge streamingEdge() {
+        return new StreamingEdge(source(), target(), timeStamp());
+    }
+
+    static EdgeSource of(Iterable<StreamingEdge> streamingEdges) {
+        Iterator<StreamingEdge> streamingEdgeIterator = streamingEdges.iterator();
+        return new EdgeSource() {
+            private StreamingEdge current;
+
+            @Override
+            public boolean advance() {
+                if (!streamingEdgeIterator.hasNext())
+                    return false;
+                current = streamingEdgeIterator.next();
+                return true;
+            }
+
+            @Override
+            public int source() {
+                return current.source;
+            }
+
+            @Override
+            public int target() {
+                return current.target;
+            }
+
+            @Override
+            public long timeStamp() {
+                return current.timeStamp;
+            }
+
+            @Override
+            public StreamingEdge streamingEdge() { // the objects of the collection are inserted as they are
+                return current;
+            }
+        };
+    }
+}
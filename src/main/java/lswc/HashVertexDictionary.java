@@ -0,0 +1,75 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.Arrays;
+
+// Vertex dictionary for sparse vertex ids
+// Slots of vertices that leave the window are recycled, such that the number of slots is bounded by the maximum number of vertices in a window
+public class HashVertexDictionary implements VertexDictionary {
+    private final Int2IntOpenHashMap vertex2Slot;
+    private final IntArrayList freeSlots; // recycled slots, reused in LIFO order
+    private int[] references; // number of references of the vertex in each slot
+    private int numOfSlots;
+
+    public HashVertexDictionary() {
+        this(1 << 10);
+    }
+
+    public HashVertexDictionary(int expectedNumOfVertices) {
+        int capacity = Math.max(expectedNumOfVertices, 1);
+        this.vertex2Slot = new Int2IntOpenHashMap(capacity);
+        this.vertex2Slot.defaultReturnValue(NO_SLOT);
+        this.freeSlots = new IntArrayList();
+        this.references = new int[capacity];
+        this.numOfSlots = 0;
+    }
+
+    @Override
+    public int acquire(int vertex) {
+        int slot = vertex2Slot.get(vertex);
+        if (slot == NO_SLOT) {
+            if (freeSlots.isEmpty()) {
+                slot = numOfSlots++;
+                if (slot == references.length)
+                    references = Arrays.copyOf(references, references.length << 1);
+            } else
+                slot = freeSlots.popInt();
+            vertex2Slot.put(vertex, slot);
+        }
+        references[slot]++;
+        return slot;
+    }
+
+    @Override
+    public int release(int vertex) {
+        int slot = vertex2Slot.get(vertex);
+        if (slot == NO_SLOT || --references[slot] > 0)
+            return NO_SLOT;
+        vertex2Slot.remove(vertex);
+        freeSlots.push(slot);
+        return slot;
+    }
+
+    @Override
+    public int slotOf(int vertex) {
+        return vertex2Slot.get(vertex);
+    }
+
+    @Override
+    public int numOfVertices() {
+        return vertex2Slot.size();
+    }
+
+    @Override
+    public int numOfSlots() {
+        return numOfSlots;
+    }
+
+    @Override
+    public long memoryConsumption() {
+        return GraphLayout.parseInstance(this).totalSize();
+    }
+}
@@ -0,0 +1,64 @@
+package lswc;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.Arrays;
+
+// Vertex dictionary for dense vertex ids, e.g., graphs whose vertices are numbered from 0 to n-1
+// The slot of a vertex is the vertex id itself, such that no hashing is needed
+public class IdentityVertexDictionary implements VertexDictionary {
+    private int[] references; // number of references of each vertex
+    private int numOfVertices;
+    private int numOfSlots;
+
+    public IdentityVertexDictionary() {
+        this(1 << 10);
+    }
+
+    public IdentityVertexDictionary(int expectedNumOfVertices) {
+        this.references = new int[Math.max(expectedNumOfVertices, 1)];
+        this.numOfVertices = 0;
+        this.numOfSlots = 0;
+    }
+
+    @Override
+    public int acquire(int vertex) {
+        if (vertex < 0)
+            throw new IllegalArgumentException("Negative vertex id: " + vertex);
+        if (vertex >= references.length)
+            references = Arrays.copyOf(references, Math.max(references.length << 1, vertex + 1));
+        if (vertex >= numOfSlots)
+            numOfSlots = vertex + 1;
+        if (references[vertex]++ == 0)
+            numOfVertices++;
+        return vertex;
+    }
+
+    @Override
+    public int release(int vertex) {
+        if (vertex < 0 || vertex >= numOfSlots || references[vertex] == 0 || --references[vertex] > 0)
+            return NO_SLOT;
+        numOfVertices--;
+        return vertex;
+    }
+
+    @Override
+    public int slotOf(int vertex) {
+        return vertex >= 0 && vertex < numOfSlots && references[vertex] > 0 ? vertex : NO_SLOT;
+    }
+
+    @Override
+    public int numOfVertices() {
+        return numOfVertices;
+    }
+
+    @Override
+    public int numOfSlots() {
+        return numOfSlots;
+    }
+
+    @Override
+    public long memoryConsumption() {
+        return GraphLayout.parseInstance(this).totalSize();
+    }
+}
@@ -0,0 +1,50 @@
+package lswc;
+
+// Maximum spanning forest over vertex ids, whose weights are the timestamps of the edges of a window, as maintained by the OMST engines, see OmstWindow
+public interface MaximumSpanningForest {
+    long NOT_A_TREE_EDGE = Long.MAX_VALUE; // see treeEdgeWeight
+    long NOT_CONNECTED = Long.MIN_VALUE; // see minimumOnPath
+
+    boolean query(int u, int v);
+
+    // Label of the root of the tree including u, or ParallelQueryTask.NO_LABEL if u is not in the forest
+    int rootLabel(int u);
+
+    // Fill the labels of the given vertices in the same order, see rootLabel
+    default void rootLabels(int[] vertices, int[] labels) {
+        for (int i = 0; i < vertices.length; i++)
+            labels[i] = rootLabel(vertices[i]);
+    }
+
+    // Delete an edge from the forest
+    void deleteTreeEdge(int u, int v);
+
+    boolean isTreeEdge(int u, int v);
+
+    // Weight of the tree edge (u, v), or NOT_A_TREE_EDGE if (u, v) is not a tree edge
+    long treeEdgeWeight(int u, int v);
+
+    // Minimum weight of the tree edges on the path between u and v, i.e., the timestamp of the oldest edge keeping u and v connected,
+    // Long.MAX_VALUE if u is v in the forest, or NOT_CONNECTED if u and v are not connected
+    // u and v are connected by the edges not older than t iff the minimum is not less than t, because the forest is a maximum one
+    long minimumOnPath(int u, int v);
+
+    long memoryConsumption();
+
+    // Process the insertion of the edge (u, v) with the given weight into the maximum spanning forest
+    // A re-arriving tree edge is refreshed to the larger weight, see deleteEdge(u, v, lessThan)
+    void insertEdge(int u, int v, long weight);
+
+    // Process the deletion of the expired edge (u, v)
+    default void deleteEdge(int u, int v) {
+        if (isTreeEdge(u, v))
+            deleteTreeEdge(u, v);
+    }
+
+    // Process the deletion of the edge (u, v) expiring before lessThan
+    // If (u, v) arrived again, then the tree edge has been refreshed to a weight not less than lessThan, such that it is kept
+    default void deleteEdge(int u, int v, long lessThan) {
+        if (treeEdgeWeight(u, v) < lessThan)
+            deleteTreeEdge(u, v);
+    }
+}
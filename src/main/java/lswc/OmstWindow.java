@@ -0,0 +1,144 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.ints.IntIntPair;
+
+import java.time.Duration;
+import java.util.List;
+
+// Window of an OMST engine over its maximum spanning forest, shared by the engines on dynamic trees and on link-cut trees
+// The edges are kept in the window for their expiry, and the forest answers the registered ranges, the ad-hoc queries of a range, connectedUntil,
+// the label snapshot and the concurrent view, while the engines answer the rest of the workload in their own ways
+public class OmstWindow {
+    private final MaximumSpanningForest forest;
+    private final long range;
+    private final WindowStore window;
+    private final SpanningForestFilter filter;
+    private final WorkloadLabelSnapshot snapshot; // if not null, the workload is answered by the labels of its vertices
+    private final boolean treeEdgeExpiry; // if true, only the edges that may still be tree edges are kept in the window, see compact
+    private int compactionThreshold;
+    private final RegisteredRanges registeredRanges;
+    private long startOfCurrentWindow; // Long.MIN_VALUE before the first edge
+    private ConcurrentLabelView concurrentView; // if not null, published at every window instance
+
+    public OmstWindow(MaximumSpanningForest forest, long range, List<IntIntPair> workload, boolean labelSnapshot, boolean treeEdgeExpiry) {
+        this.forest = forest;
+        this.range = range;
+        this.window = new WindowStore();
+        this.filter = new SpanningForestFilter();
+        this.snapshot = labelSnapshot ? new WorkloadLabelSnapshot(workload) : null;
+        this.treeEdgeExpiry = treeEdgeExpiry;
+        this.compactionThreshold = WindowStore.MIN_COMPACTION_THRESHOLD;
+        this.registeredRanges = new RegisteredRanges(range);
+        this.startOfCurrentWindow = Long.MIN_VALUE;
+    }
+
+    // registers a range not larger than the range of the engine, whose results for the workload are added to the given output streams at every window instance
+    // all the registered ranges are answered from the same spanning forest, see RegisteredRanges
+    public void addRange(Duration range, List<List<Boolean>> outputStreams) {
+        registeredRanges.add(range, outputStreams);
+    }
+
+    // view of the latest window instance for ad-hoc queries from other threads, see ConcurrentLabelView
+    // it is published from the next window instance on, such that it is to be requested before the stream is processed
+    // the vertices of the window are labelled at every window instance, such that the view requires the tree edge expiry, which keeps the window at about the size of the spanning forest
+    public ConcurrentLabelView concurrentView() {
+        if (!treeEdgeExpiry)
+            throw new IllegalStateException("The concurrent view requires the tree edge expiry");
+        if (concurrentView == null)
+            concurrentView = new ConcurrentLabelView();
+        return concurrentView;
+    }
+
+    // whether source and target are connected by the edges of the current window instance arriving in the last range, which is not larger than the range of the engine
+    // a vertex is connected to itself iff one of its edges arrived in the range, see RegisteredRanges
+    public boolean query(int source, int target, Duration range) {
+        long from = startOfCurrentWindow + this.range - range.toMillis();
+        if (source == target)
+            return window.hasArrivalSince(source, from);
+        return forest.minimumOnPath(source, target) >= from;
+    }
+
+    public void insert(StreamingEdge streamingEdge) {
+        if (startOfCurrentWindow == Long.MIN_VALUE) // the first window instance starts with the first edge
+            startOfCurrentWindow = streamingEdge.timeStamp;
+        window.add(streamingEdge);
+
+        // process the edge insertion
+        forest.insertEdge(streamingEdge.source, streamingEdge.target, streamingEdge.timeStamp);
+
+        if (treeEdgeExpiry && window.size() >= compactionThreshold)
+            compact();
+    }
+
+    // an edge that is not a tree edge never becomes one again, such that only the tree edges need to be kept for their expiry
+    // the window is compacted whenever it doubles, i.e., it holds at most about twice the tree edges at the cost of amortized O(1) lookups per insertion
+    private void compact() {
+        window.retain(forest::isTreeEdge, forest::deleteEdge); // the deletion of a non-tree edge only releases its vertices
+        compactionThreshold = Math.max(WindowStore.MIN_COMPACTION_THRESHOLD, window.size() << 1);
+    }
+
+    // the dropped edges are neither inserted nor kept in the window, because they never become tree edges before they expire
+    public void insertBatch(StreamingEdge[] streamingEdges, int from, int to) {
+        if (startOfCurrentWindow == Long.MIN_VALUE && from < to) // the first edge may be dropped by the filter
+            startOfCurrentWindow = streamingEdges[from].timeStamp;
+        int num = filter.filter(streamingEdges, from, to);
+        for (int i = 0; i < num; i++)
+            insert(filter.kept(i));
+    }
+
+    // the spanning forest is written as its tree edges, which are linked again on restore, while the non-tree edges of the window are not needed,
+    // because they never become tree edges before they expire
+    public void writeCheckpoint(WindowCheckpoint.Writer writer) {
+        writer.addStates(startOfCurrentWindow);
+        writer.addSection(window.newestCopies(forest::isTreeEdge));
+    }
+
+    public void restoreCheckpoint(WindowCheckpoint checkpoint) {
+        if (!window.isEmpty())
+            throw new IllegalStateException("A checkpoint is restored into a new engine");
+        startOfCurrentWindow = checkpoint.state(0);
+        for (int i = 0, size = checkpoint.size(0); i < size; i++) { // in the order of the timestamps, every tree edge links two trees
+            int source = checkpoint.source(0, i), target = checkpoint.target(0, i);
+            long timeStamp = checkpoint.timeStamp(0, i);
+            window.add(source, target, timeStamp);
+            forest.insertEdge(source, target, timeStamp);
+        }
+        compactionThreshold = Math.max(WindowStore.MIN_COMPACTION_THRESHOLD, window.size() << 1);
+    }
+
+    public void evict(long lessThan) {
+        startOfCurrentWindow = lessThan;
+        window.evictBefore(lessThan, (source, target) -> forest.deleteEdge(source, target, lessThan)); // keeps the refreshed tree edges
+    }
+
+    // the time at which source and target are disconnected if no further edge arrives, i.e., the timestamp of the oldest edge on their tree path plus the range,
+    // Long.MAX_VALUE if source is target in the window, or -1 if they are not connected
+    public long connectedUntil(int source, int target) {
+        long minimum = forest.minimumOnPath(source, target);
+        if (minimum == MaximumSpanningForest.NOT_CONNECTED)
+            return -1;
+        return minimum == Long.MAX_VALUE ? Long.MAX_VALUE : minimum + range;
+    }
+
+    // answers the registered ranges and publishes the concurrent view at a window instance, and then the workload by the label snapshot if it covers the queries
+    // returns false if the queries are left to the engine
+    public boolean query(List<IntIntPair> queries, List<List<Boolean>> outputStreams) {
+        if (!registeredRanges.isEmpty())
+            registeredRanges.query(queries, startOfCurrentWindow + range, forest::minimumOnPath, window);
+        if (concurrentView != null)
+            concurrentView.publish(window, forest::rootLabels);
+        if (snapshot != null && snapshot.covers(queries)) { // the labels of the vertices of the workload are computed once per slide
+            forest.rootLabels(snapshot.vertices(), snapshot.labels());
+            snapshot.query(outputStreams);
+            return true;
+        }
+        return false;
+    }
+
+    // see AbstractSlidingWindowConnectivity.addDisconnected
+    public void addDisconnected(int numOfWindows) {
+        registeredRanges.addDisconnected(numOfWindows);
+        if (concurrentView != null)
+            concurrentView.publishEmpty(numOfWindows);
+    }
+}
@@ -0,0 +1,52 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.ints.IntIntPair;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntUnaryOperator;
+
+// Answer the queries of a workload in parallel, by comparing the labels of the roots of the two vertices of every query
+// rootLabel must not modify the spanning forest, which is frozen during the query phase of a slide, i.e., in between evict and the next insert
+// Each task appends to the output streams of its own range of queries only, such that the output streams are not shared between tasks
+public class ParallelQueryTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    public static final int NO_LABEL = -1; // the label of a vertex not in the window
+    private static final int THRESHOLD = 1 << 10; // number of queries answered by a task without splitting
+
+    private final List<IntIntPair> queries;
+    private final List<List<Boolean>> outputStreams;
+    private final IntUnaryOperator rootLabel;
+    private final int from, to;
+
+    private ParallelQueryTask(List<IntIntPair> queries, List<List<Boolean>> outputStreams, IntUnaryOperator rootLabel, int from, int to) {
+        this.queries = queries;
+        this.outputStreams = outputStreams;
+        this.rootLabel = rootLabel;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static void query(ForkJoinPool pool, List<IntIntPair> queries, List<List<Boolean>> outputStreams, IntUnaryOperator rootLabel) {
+        pool.invoke(new ParallelQueryTask(queries, outputStreams, rootLabel, 0, queries.size()));
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                IntIntPair intIntPair = queries.get(i);
+                int labelOfSource = rootLabel.applyAsInt(intIntPair.firstInt());
+                outputStreams.get(i).add(labelOfSource != NO_LABEL && labelOfSource == rootLabel.applyAsInt(intIntPair.secondInt()));
+            }
+        } else {
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new ParallelQueryTask(queries, outputStreams, rootLabel, from, mid),
+                    new ParallelQueryTask(queries, outputStreams, rootLabel, mid, to)
+            );
+        }
+    }
+}
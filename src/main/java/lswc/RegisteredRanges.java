@@ -0,0 +1,73 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIntPair;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Ranges answered by an OMST engine in addition to its own range, each with its own output streams for the workload
+// The window instances of a registered range end with the ones of the engine, i.e., a registered range holds the edges of the current window
+// whose timestamps are not less than the end of the window minus the registered range
+// As the timestamps are the weights of a maximum spanning forest, two vertices are connected in a registered range
+// iff the minimum weight on their tree path is not less than the start of the registered range, such that one forest answers all the ranges
+// A vertex is connected to itself in a registered range iff one of its edges arrived in the range, which is looked up in the window instead,
+// because the minimum on the empty path is Long.MAX_VALUE whether or not the vertex has such an edge
+public class RegisteredRanges {
+    public interface PathMinimum {
+        // the minimum weight on the tree path between u and v, or Long.MIN_VALUE if they are not connected
+        long minimumOnPath(int u, int v);
+    }
+
+    private final long range; // the range of the engine, which is the largest one
+    private long largestRange; // the largest registered range
+    private final LongArrayList ranges;
+    private final List<List<List<Boolean>>> outputStreams;
+
+    public RegisteredRanges(long range) {
+        this.range = range;
+        this.ranges = new LongArrayList();
+        this.outputStreams = new ArrayList<>();
+    }
+
+    public void add(Duration range, List<List<Boolean>> outputStreams) {
+        if (range.toMillis() > this.range)
+            throw new IllegalArgumentException("A registered range must not be larger than the range of the engine: " + range);
+        this.ranges.add(range.toMillis());
+        this.largestRange = Math.max(largestRange, range.toMillis());
+        this.outputStreams.add(outputStreams);
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    // adds the results of the queries for every registered range in the window instance ending at endOfWindow
+    public void query(List<IntIntPair> queries, long endOfWindow, PathMinimum pathMinimum, WindowStore window) {
+        Int2LongOpenHashMap latestArrivals = null; // collected at the first query of a vertex to itself
+        for (int r = 0; r < ranges.size(); r++) {
+            long from = endOfWindow - ranges.getLong(r);
+            List<List<Boolean>> streams = outputStreams.get(r);
+            for (int i = 0; i < queries.size(); i++) {
+                IntIntPair intIntPair = queries.get(i);
+                int source = intIntPair.firstInt(), target = intIntPair.secondInt();
+                if (source == target) {
+                    if (latestArrivals == null)
+                        latestArrivals = window.latestArrivals(endOfWindow - largestRange);
+                    streams.get(i).add(latestArrivals.get(source) >= from);
+                } else
+                    streams.get(i).add(pathMinimum.minimumOnPath(source, target) >= from);
+            }
+        }
+    }
+
+    // see AbstractSlidingWindowConnectivity.addDisconnected
+    public void addDisconnected(int numOfWindows) {
+        for (List<List<Boolean>> streams : outputStreams)
+            for (List<Boolean> stream : streams)
+                stream.addAll(Collections.nCopies(numOfWindows, Boolean.FALSE));
+    }
+}
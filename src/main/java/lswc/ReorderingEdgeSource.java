@@ -0,0 +1,139 @@
+package lswc;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Ingestion stage for streams with bounded disorder, delivering the edges of the upstream source in the order of their timestamps
+// Edges are buffered in a primitive min-heap keyed by timestamp, and released once the watermark passes them,
+// where the watermark is the largest timestamp seen so far minus the allowed lateness
+// An edge arriving later than the allowed lateness, i.e., with a timestamp less than the one of an already released edge, is dropped and counted
+public class ReorderingEdgeSource implements EdgeSource {
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+
+    private final EdgeSource upstream;
+    private final long allowedLateness;
+    private boolean isUpstreamExhausted;
+    private long maxTimeStamp, lastReleased;
+    private long numOfDroppedEdges;
+
+    // the heap of the buffered edges in parallel arrays
+    private int[] sources, targets;
+    private long[] timeStamps;
+    private int size;
+
+    // the current edge
+    private int source, target;
+    private long timeStamp;
+
+    public ReorderingEdgeSource(EdgeSource upstream, Duration allowedLateness) {
+        this.upstream = upstream;
+        this.allowedLateness = allowedLateness.toMillis();
+        this.isUpstreamExhausted = false;
+        this.maxTimeStamp = Long.MIN_VALUE;
+        this.lastReleased = Long.MIN_VALUE;
+        this.numOfDroppedEdges = 0;
+        this.sources = new int[DEFAULT_CAPACITY];
+        this.targets = new int[DEFAULT_CAPACITY];
+        this.timeStamps = new long[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    @Override
+    public boolean advance() {
+        // pull until the oldest buffered edge is not later than the watermark, i.e., no edge within the allowed lateness can precede it
+        while (!isUpstreamExhausted && (size == 0 || timeStamps[0] > maxTimeStamp - allowedLateness)) {
+            if (!upstream.advance()) {
+                isUpstreamExhausted = true;
+                break;
+            }
+            long t = upstream.timeStamp();
+            if (t < lastReleased) { // too late, the edges after it have been released
+                numOfDroppedEdges++;
+                continue;
+            }
+            maxTimeStamp = Math.max(maxTimeStamp, t);
+            offer(upstream.source(), upstream.target(), t);
+        }
+
+        if (size == 0)
+            return false;
+        poll();
+        lastReleased = timeStamp;
+        return true;
+    }
+
+    @Override
+    public int source() {
+        return source;
+    }
+
+    @Override
+    public int target() {
+        return target;
+    }
+
+    @Override
+    public long timeStamp() {
+        return timeStamp;
+    }
+
+    public long numOfDroppedEdges() {
+        return numOfDroppedEdges;
+    }
+
+    public int numOfBufferedEdges() {
+        return size;
+    }
+
+    private void offer(int s, int t, long ts) {
+        if (size == timeStamps.length) {
+            sources = Arrays.copyOf(sources, size << 1);
+            targets = Arrays.copyOf(targets, size << 1);
+            timeStamps = Arrays.copyOf(timeStamps, size << 1);
+        }
+
+        int i = size++; // sift up
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (timeStamps[p] <= ts)
+                break;
+            set(i, p);
+            i = p;
+        }
+        sources[i] = s;
+        targets[i] = t;
+        timeStamps[i] = ts;
+    }
+
+    // moves the root into the current edge
+    private void poll() {
+        source = sources[0];
+        target = targets[0];
+        timeStamp = timeStamps[0];
+
+        int last = --size;
+        int s = sources[last], t = targets[last];
+        long ts = timeStamps[last];
+        int i = 0; // sift down
+        while (true) {
+            int c = (i << 1) + 1;
+            if (c >= size)
+                break;
+            if (c + 1 < size && timeStamps[c + 1] < timeStamps[c])
+                c++;
+            if (ts <= timeStamps[c])
+                break;
+            set(i, c);
+            i = c;
+        }
+        sources[i] = s;
+        targets[i] = t;
+        timeStamps[i] = ts;
+    }
+
+    private void set(int to, int from) {
+        sources[to] = sources[from];
+        targets[to] = targets[from];
+        timeStamps[to] = timeStamps[from];
+    }
+}
@@ -0,0 +1,97 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+import java.util.Arrays;
+
+// Kruskal-style filtering of a batch of streaming edges for the engines maintaining a maximum spanning forest with timestamps as weights
+// The batch is scanned from the newest edge to the oldest one over a union-find local to the batch, and an edge closing a cycle is dropped
+// A dropped edge has the minimum weight in a cycle of edges that expire no earlier than itself, such that it never becomes a tree edge before it expires
+public class SpanningForestFilter {
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+
+    private final Int2IntOpenHashMap index; // map a vertex of the batch to its local index
+    private int[] parent;
+    private int[] size;
+    private boolean[] isKept;
+    private StreamingEdge[] kept;
+    private int numOfKept;
+
+    public SpanningForestFilter() {
+        this.index = new Int2IntOpenHashMap();
+        this.index.defaultReturnValue(-1);
+        this.parent = new int[DEFAULT_CAPACITY];
+        this.size = new int[DEFAULT_CAPACITY];
+        this.isKept = new boolean[DEFAULT_CAPACITY];
+        this.kept = new StreamingEdge[DEFAULT_CAPACITY];
+        this.numOfKept = 0;
+    }
+
+    // edges in [from, to) are in the order of their timestamps
+    // returns the number of kept edges, which are accessible by kept(i) in the same order
+    public int filter(StreamingEdge[] edges, int from, int to) {
+        int num = to - from;
+        if (isKept.length < num) {
+            isKept = new boolean[num];
+            kept = new StreamingEdge[num];
+            numOfKept = 0;
+        }
+
+        index.clear();
+        for (int i = to - 1; i >= from; i--) // the newest edge has the largest weight
+            isKept[i - from] = union(localIndex(edges[i].source), localIndex(edges[i].target));
+
+        int count = 0;
+        for (int i = from; i < to; i++)
+            if (isKept[i - from])
+                kept[count++] = edges[i];
+
+        if (count < numOfKept)
+            Arrays.fill(kept, count, numOfKept, null); // do not hold the references of the edges of the previous batch
+        numOfKept = count;
+        return count;
+    }
+
+    public StreamingEdge kept(int i) {
+        return kept[i];
+    }
+
+    private int localIndex(int v) {
+        int i = index.get(v);
+        if (i == -1) {
+            i = index.size();
+            index.put(v, i);
+            if (i == parent.length) {
+                parent = Arrays.copyOf(parent, i << 1);
+                size = Arrays.copyOf(size, i << 1);
+            }
+            parent[i] = i;
+            size[i] = 1;
+        }
+        return i;
+    }
+
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; // path halving
+            i = parent[i];
+        }
+        return i;
+    }
+
+    // returns false if i and j are already connected
+    private boolean union(int i, int j) {
+        int r_i = find(i), r_j = find(j);
+        if (r_i == r_j)
+            return false;
+
+        if (size[r_i] < size[r_j]) {
+            parent[r_i] = r_j;
+            size[r_j] += size[r_i];
+        } else {
+            parent[r_j] = r_i;
+            size[r_i] += size[r_j];
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package lswc;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+// Streaming graph kept in primitive arrays, i.e., 16 bytes per edge instead of a StreamingEdge object and its reference
+// As a list, the edges are materialized as StreamingEdge objects on access, such that the engines only hold the objects of the edges in their windows
+public class StreamingGraph extends AbstractList<StreamingEdge> implements RandomAccess {
+    private final int[] sources, targets;
+    private final long[] timeStamps;
+    private final int size;
+
+    // the arrays are not copied; only the edges in [0, size) are part of the graph
+    public StreamingGraph(int[] sources, int[] targets, long[] timeStamps, int size) {
+        this.sources = sources;
+        this.targets = targets;
+        this.timeStamps = timeStamps;
+        this.size = size;
+    }
+
+    public int source(int i) {
+        return sources[i];
+    }
+
+    public int target(int i) {
+        return targets[i];
+    }
+
+    public long timeStamp(int i) {
+        return timeStamps[i];
+    }
+
+    // pulls the edges without materializing them as objects
+    public EdgeSource edgeSource() {
+        return new EdgeSource() {
+            private int i = -1;
+
+            @Override
+            public boolean advance() {
+                return ++i < size;
+            }
+
+            @Override
+            public int source() {
+                return sources[i];
+            }
+
+            @Override
+            public int target() {
+                return targets[i];
+            }
+
+            @Override
+            public long timeStamp() {
+                return timeStamps[i];
+            }
+        };
+    }
+
+    @Override
+    public StreamingEdge get(int i) {
+        if (i >= size)
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        return new StreamingEdge(sources[i], targets[i], timeStamps[i]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,25 @@
+package lswc;
+
+// Maps external vertex ids to dense slots in [0, numOfSlots()), such that engines can index plain arrays by slot
+// A vertex holds a reference for every edge in the window that is incident to it; a vertex leaves the window when its last reference is released
+public interface VertexDictionary {
+    int NO_SLOT = -1;
+
+    // Returns the slot of the vertex, assigning a slot if the vertex is absent, and adds a reference to the vertex
+    int acquire(int vertex);
+
+    // Removes a reference from the vertex
+    // Returns the slot of the vertex if the vertex leaves the window, i.e., the slot can be recycled; otherwise returns NO_SLOT
+    int release(int vertex);
+
+    // Returns the slot of the vertex, or NO_SLOT if the vertex is not in the window
+    int slotOf(int vertex);
+
+    // Number of vertices in the window
+    int numOfVertices();
+
+    // Upper bound (exclusive) of the slots that have been assigned
+    int numOfSlots();
+
+    long memoryConsumption();
+}
@@ -0,0 +1,227 @@
+package lswc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Checkpoint of an engine between two window instances of computeSlidingWindowConnectivity, read in place from the memory-mapped file
+// Layout: header | states | section sizes | sections
+//   header: magic, version, num of states, num of sections, whether the next window instance is the first one since the start or the restart (ints),
+//           range, slide, start of the next window instance, latest timestamp, num of edges ingested (longs)
+//   states: longs specific to the engine, e.g., the positions in its chunks
+//   section: edges as source, target (ints) and timestamp (long), e.g., the spanning forest of the window in the order of the timestamps
+// The file is written next to the path and moved in place, such that a crash while writing keeps the previous checkpoint,
+// and the directory is forced after the move, such that the new checkpoint survives a power loss once write returns
+public class WindowCheckpoint {
+    private static final int MAGIC = 0x53574343; // "SWCC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int EDGE_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    private static final int EDGES_PER_SEGMENT_SHIFT = 26; // sections are mapped in segments of 1GB, since a mapped buffer is limited to 2GB
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final long range, slide, startOfNextWindow, lastTimeStamp, numOfEdges;
+    private final boolean isFirstWindow;
+    private final long[] states;
+    private final long[] sizes;
+    private final MappedByteBuffer[][] sections;
+
+    private WindowCheckpoint(long range, long slide, long startOfNextWindow, long lastTimeStamp, long numOfEdges, boolean isFirstWindow, long[] states, long[] sizes, MappedByteBuffer[][] sections) {
+        this.range = range;
+        this.slide = slide;
+        this.startOfNextWindow = startOfNextWindow;
+        this.lastTimeStamp = lastTimeStamp;
+        this.numOfEdges = numOfEdges;
+        this.isFirstWindow = isFirstWindow;
+        this.states = states;
+        this.sizes = sizes;
+        this.sections = sections;
+    }
+
+    public static WindowCheckpoint open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) { // the mapped buffers stay valid after closing the channel
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION)
+                throw new RuntimeException("Not a window checkpoint: " + path);
+            int numOfStates = header.getInt(), numOfSections = header.getInt();
+            boolean isFirstWindow = header.getInt() != 0;
+            long range = header.getLong(), slide = header.getLong(), startOfNextWindow = header.getLong(), lastTimeStamp = header.getLong(), numOfEdges = header.getLong();
+
+            long position = HEADER_SIZE;
+            ByteBuffer longs = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) (numOfStates + numOfSections) * Long.BYTES);
+            long[] states = new long[numOfStates], sizes = new long[numOfSections];
+            for (int i = 0; i < numOfStates; i++)
+                states[i] = longs.getLong();
+            for (int i = 0; i < numOfSections; i++)
+                sizes[i] = longs.getLong();
+            position += (long) (numOfStates + numOfSections) * Long.BYTES;
+
+            MappedByteBuffer[][] sections = new MappedByteBuffer[numOfSections][];
+            for (int i = 0; i < numOfSections; i++) {
+                int numOfSegments = (int) ((sizes[i] + (1L << EDGES_PER_SEGMENT_SHIFT) - 1) >>> EDGES_PER_SEGMENT_SHIFT);
+                sections[i] = new MappedByteBuffer[numOfSegments];
+                for (int j = 0; j < numOfSegments; j++) {
+                    long num = Math.min(1L << EDGES_PER_SEGMENT_SHIFT, sizes[i] - ((long) j << EDGES_PER_SEGMENT_SHIFT));
+                    sections[i][j] = channel.map(FileChannel.MapMode.READ_ONLY, position, num * EDGE_SIZE);
+                    position += num * EDGE_SIZE;
+                }
+            }
+            return new WindowCheckpoint(range, slide, startOfNextWindow, lastTimeStamp, numOfEdges, isFirstWindow, states, sizes, sections);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public long range() {
+        return range;
+    }
+
+    public long slide() {
+        return slide;
+    }
+
+    public long startOfNextWindow() {
+        return startOfNextWindow;
+    }
+
+    public long lastTimeStamp() {
+        return lastTimeStamp;
+    }
+
+    public long numOfEdges() {
+        return numOfEdges;
+    }
+
+    public boolean isFirstWindow() {
+        return isFirstWindow;
+    }
+
+    public int numOfStates() {
+        return states.length;
+    }
+
+    public long state(int i) {
+        return states[i];
+    }
+
+    public int numOfSections() {
+        return sizes.length;
+    }
+
+    public int size(int section) {
+        return Math.toIntExact(sizes[section]);
+    }
+
+    // the i-th edge of the section
+    public int source(int section, int i) {
+        return segment(section, i).getInt(offset(i));
+    }
+
+    public int target(int section, int i) {
+        return segment(section, i).getInt(offset(i) + Integer.BYTES);
+    }
+
+    public long timeStamp(int section, int i) {
+        return segment(section, i).getLong(offset(i) + 2 * Integer.BYTES);
+    }
+
+    private MappedByteBuffer segment(int section, int i) {
+        return sections[section][i >>> EDGES_PER_SEGMENT_SHIFT];
+    }
+
+    private static int offset(int i) {
+        return (i & ((1 << EDGES_PER_SEGMENT_SHIFT) - 1)) * EDGE_SIZE;
+    }
+
+    // forces the entries of the directory, i.e., the files created, moved or deleted in it, to the disk
+    static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    // collects the states and the sections of an engine, see Checkpointable
+    public static class Writer {
+        private final long range, slide, startOfNextWindow, lastTimeStamp, numOfEdges;
+        private final boolean isFirstWindow;
+        private final List<long[]> states;
+        private final List<WindowStore> sections;
+
+        public Writer(long range, long slide, long startOfNextWindow, long lastTimeStamp, long numOfEdges, boolean isFirstWindow) {
+            this.range = range;
+            this.slide = slide;
+            this.startOfNextWindow = startOfNextWindow;
+            this.lastTimeStamp = lastTimeStamp;
+            this.numOfEdges = numOfEdges;
+            this.isFirstWindow = isFirstWindow;
+            this.states = new ArrayList<>();
+            this.sections = new ArrayList<>();
+        }
+
+        public void addStates(long... states) {
+            this.states.add(states);
+        }
+
+        // the edges are written from the oldest one of the store
+        public void addSection(WindowStore edges) {
+            this.sections.add(edges);
+        }
+
+        public void write(Path path) {
+            int numOfStates = 0;
+            for (long[] values : states)
+                numOfStates += values.length;
+
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(numOfStates).putInt(sections.size()).putInt(isFirstWindow ? 1 : 0);
+                buffer.putLong(range).putLong(slide).putLong(startOfNextWindow).putLong(lastTimeStamp).putLong(numOfEdges);
+                buffer.position(HEADER_SIZE);
+
+                for (long[] values : states)
+                    for (long value : values) {
+                        if (buffer.remaining() < Long.BYTES)
+                            drain(channel, buffer);
+                        buffer.putLong(value);
+                    }
+                for (WindowStore section : sections) {
+                    if (buffer.remaining() < Long.BYTES)
+                        drain(channel, buffer);
+                    buffer.putLong(section.size());
+                }
+                for (WindowStore section : sections)
+                    for (int i = 0, size = section.size(); i < size; i++) {
+                        if (buffer.remaining() < EDGE_SIZE)
+                            drain(channel, buffer);
+                        buffer.putInt(section.source(i)).putInt(section.target(i)).putLong(section.timeStamp(i));
+                    }
+                drain(channel, buffer);
+                channel.force(true);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                forceDirectory(path.toAbsolutePath().getParent());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+    }
+}
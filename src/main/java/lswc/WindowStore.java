@@ -0,0 +1,185 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+// Window of streaming edges, kept in the order of their arrivals in a growable ring buffer of parallel primitive arrays
+// It replaces a queue of StreamingEdge objects, such that the engines do not keep an object per edge in the window alive
+public class WindowStore {
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    public static final int MIN_COMPACTION_THRESHOLD = 1 << 10; // size below which engines do not compact their windows with retain
+
+    private int[] sources, targets;
+    private long[] timeStamps;
+    private int head, size, mask; // the capacity is a power of two
+
+    public interface EvictionListener {
+        void evicted(int source, int target);
+    }
+
+    public interface EdgePredicate {
+        boolean test(int source, int target);
+    }
+
+    public WindowStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public WindowStore(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) - 1) << 1;
+        this.sources = new int[capacity];
+        this.targets = new int[capacity];
+        this.timeStamps = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public void add(StreamingEdge streamingEdge) {
+        add(streamingEdge.source, streamingEdge.target, streamingEdge.timeStamp);
+    }
+
+    public void add(int source, int target, long timeStamp) {
+        if (size == sources.length)
+            grow();
+        int tail = (head + size) & mask;
+        sources[tail] = source;
+        targets[tail] = target;
+        timeStamps[tail] = timeStamp;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = sources.length << 1;
+        sources = unroll(sources, capacity);
+        targets = unroll(targets, capacity);
+        long[] grown = new long[capacity];
+        System.arraycopy(timeStamps, head, grown, 0, timeStamps.length - head);
+        System.arraycopy(timeStamps, 0, grown, timeStamps.length - head, head);
+        timeStamps = grown;
+        head = 0;
+        mask = capacity - 1;
+    }
+
+    private int[] unroll(int[] array, int capacity) {
+        int[] grown = new int[capacity];
+        System.arraycopy(array, head, grown, 0, array.length - head);
+        System.arraycopy(array, 0, grown, array.length - head, head);
+        return grown;
+    }
+
+    // removes all the edges whose timestamps are less than the lessThan time, assuming the edges were added in the order of their timestamps
+    // the first edge to keep is found by binary search, returns the num of evicted edges
+    public int evictBefore(long lessThan) {
+        int low = 0, high = size; // the num of edges whose timestamps are less than lessThan
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeStamps[(head + mid) & mask] < lessThan)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        head = (head + low) & mask;
+        size -= low;
+        return low;
+    }
+
+    // removes the oldest edges while their timestamps are less than the lessThan time, and passes every one of them to the listener
+    public int evictBefore(long lessThan, EvictionListener listener) {
+        int num = 0;
+        while (size > 0 && timeStamps[head] < lessThan) {
+            int source = sources[head], target = targets[head];
+            head = (head + 1) & mask;
+            size--;
+            num++;
+            listener.evicted(source, target);
+        }
+        return num;
+    }
+
+    // keeps only the edges satisfying the predicate, in the same order, and passes every removed one to the listener
+    // returns the num of removed edges
+    public int retain(EdgePredicate predicate, EvictionListener listener) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int from = (head + i) & mask;
+            if (!predicate.test(sources[from], targets[from])) {
+                listener.evicted(sources[from], targets[from]);
+                continue;
+            }
+            int to = (head + kept++) & mask;
+            sources[to] = sources[from];
+            targets[to] = targets[from];
+            timeStamps[to] = timeStamps[from];
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    // the newest copy of every edge satisfying the predicate, in the same order, e.g., the tree edges of a spanning forest with their refreshed timestamps
+    public WindowStore newestCopies(EdgePredicate predicate) {
+        LongOpenHashSet visited = new LongOpenHashSet();
+        IntArrayList newestFirst = new IntArrayList();
+        for (int i = size - 1; i >= 0; i--) {
+            int source = source(i), target = target(i);
+            if (predicate.test(source, target) && visited.add(((long) Math.min(source, target) << 32) | (Math.max(source, target) & 0xFFFFFFFFL)))
+                newestFirst.add(i);
+        }
+
+        WindowStore copies = new WindowStore(newestFirst.size());
+        for (int j = newestFirst.size() - 1; j >= 0; j--) {
+            int i = newestFirst.getInt(j);
+            copies.add(source(i), target(i), timeStamp(i));
+        }
+        return copies;
+    }
+
+    // whether an edge incident to u arrived at or after from, walked from the newest edge back
+    public boolean hasArrivalSince(int u, long from) {
+        for (int i = size - 1; i >= 0 && timeStamp(i) >= from; i--)
+            if (source(i) == u || target(i) == u)
+                return true;
+        return false;
+    }
+
+    // the latest timestamp of every vertex with an edge arriving at or after from, where the other vertices are mapped to Long.MIN_VALUE
+    public Int2LongOpenHashMap latestArrivals(long from) {
+        Int2LongOpenHashMap latestArrivals = new Int2LongOpenHashMap();
+        latestArrivals.defaultReturnValue(Long.MIN_VALUE);
+        for (int i = size - 1; i >= 0 && timeStamp(i) >= from; i--) { // the first timestamp seen of a vertex is its latest one
+            latestArrivals.putIfAbsent(source(i), timeStamp(i));
+            latestArrivals.putIfAbsent(target(i), timeStamp(i));
+        }
+        return latestArrivals;
+    }
+
+    // the i-th oldest edge in the window
+    public int source(int i) {
+        return sources[(head + i) & mask];
+    }
+
+    public int target(int i) {
+        return targets[(head + i) & mask];
+    }
+
+    public long timeStamp(int i) {
+        return timeStamps[(head + i) & mask];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public long memoryConsumption() {
+        return (long) sources.length * (Integer.BYTES * 2 + Long.BYTES);
+    }
+}
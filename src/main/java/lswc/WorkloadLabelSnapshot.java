@@ -0,0 +1,64 @@
+package lswc;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIntPair;
+
+import java.util.List;
+
+// Per-slide snapshot of the component labels of the vertices in a fixed workload
+// The distinct vertices of the workload are collected once; every slide, the engine fills their labels (see ParallelQueryTask.NO_LABEL for the vertices not in the window),
+// and then each query is answered by comparing two ints instead of walking to the roots of its two vertices
+public class WorkloadLabelSnapshot {
+    private final List<IntIntPair> workload;
+    private final int[] vertices; // distinct vertices of the workload
+    private final int[] labels; // labels of the vertices in the current slide
+    private final int[] sourceIndex, targetIndex; // indices of the two vertices of every query in vertices
+
+    public WorkloadLabelSnapshot(List<IntIntPair> workload) {
+        this.workload = workload;
+        this.sourceIndex = new int[workload.size()];
+        this.targetIndex = new int[workload.size()];
+
+        Int2IntOpenHashMap index = new Int2IntOpenHashMap();
+        index.defaultReturnValue(-1);
+        for (int i = 0; i < workload.size(); i++) {
+            sourceIndex[i] = indexOf(index, workload.get(i).firstInt());
+            targetIndex[i] = indexOf(index, workload.get(i).secondInt());
+        }
+
+        this.vertices = new int[index.size()];
+        for (Int2IntOpenHashMap.Entry entry : index.int2IntEntrySet())
+            vertices[entry.getIntValue()] = entry.getIntKey();
+        this.labels = new int[vertices.length];
+    }
+
+    private static int indexOf(Int2IntOpenHashMap index, int v) {
+        int i = index.get(v);
+        if (i == -1) {
+            i = index.size();
+            index.put(v, i);
+        }
+        return i;
+    }
+
+    // the snapshot only applies to the workload it is built for
+    public boolean covers(List<IntIntPair> queries) {
+        return queries == workload;
+    }
+
+    public int[] vertices() {
+        return vertices;
+    }
+
+    // to be filled by the engine, in the same order as vertices()
+    public int[] labels() {
+        return labels;
+    }
+
+    public void query(List<List<Boolean>> outputStreams) {
+        for (int i = 0; i < sourceIndex.length; i++) {
+            int labelOfSource = labels[sourceIndex[i]];
+            outputStreams.get(i).add(labelOfSource != ParallelQueryTask.NO_LABEL && labelOfSource == labels[targetIndex[i]]);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package lswc.baselines;
 
 import lswc.AbstractSlidingWindowConnectivity;
 import lswc.StreamingEdge;
+import lswc.WindowStore;
 import it.unimi.dsi.fastutil.ints.IntIntPair;
 import org.openjdk.jol.info.GraphLayout;
 
@@ -12,19 +13,19 @@ public class FdcSlidingWindowConnectivity extends AbstractSlidingWindowConnectiv
 
     private final FullyDynamicConnectivity fdc;
 
-    private final Queue<StreamingEdge> window;
+    private final WindowStore window;
 
     @Deprecated
     public FdcSlidingWindowConnectivity(Duration range, Duration slide, FullyDynamicConnectivity fullyDynamicConnectivity) {
         super(range, slide);
         this.fdc = fullyDynamicConnectivity;
-        this.window = new ArrayDeque<>();
+        this.window = new WindowStore();
     }
 
     public FdcSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, FullyDynamicConnectivity fullyDynamicConnectivity) {
         super(range, slide, workload);
         this.fdc = fullyDynamicConnectivity;
-        this.window = new ArrayDeque<>();
+        this.window = new WindowStore();
     }
 
 
@@ -36,10 +37,7 @@ public class FdcSlidingWindowConnectivity extends AbstractSlidingWindowConnectiv
 
     @Override
     public void evict(long lessThan) {
-        while (!window.isEmpty() && window.peek().timeStamp < lessThan) {
-            StreamingEdge streamingEdge = window.poll();
-            fdc.deleteEdge(streamingEdge.source, streamingEdge.target);
-        }
+        window.evictBefore(lessThan, fdc::deleteEdge);
     }
 
     @Override
@@ -218,6 +218,10 @@ public class BackwardBuffer {
     }
 
 
+    Chunk getChunk() {
+        return chunk;
+    }
+
     public void compute() { // backward computation
         ArrayList<ArrayList<StreamingEdge>> edgesInChunk = chunk.getData();
         int chunkSize = edgesInChunk.size();
@@ -229,6 +233,7 @@ public class BackwardBuffer {
             }
         }
         setupWorkloadNodes();
+        isDone.set(true); // published for the ingesting thread in the pipelined mode
     }
 
     private void setupWorkloadNodes() {
@@ -1,35 +1,56 @@
 package lswc.baselines.bic;
 
 import lswc.AbstractSlidingWindowConnectivity;
+import lswc.Checkpointable;
 import lswc.StreamingEdge;
+import lswc.WindowCheckpoint;
+import lswc.WindowStore;
+import lswc.baselines.utils.UnionFindTree;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntIntPair;
 import org.openjdk.jol.info.GraphLayout;
 
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowConnectivity {
+public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowConnectivity implements Checkpointable {
     private Chunk currentChunk;
     private final int chunkSize;
     private int windowIndexInChunk; // if this value is 1, then the corresponding query needs to use BackwardBuffer
     private long startOfEachChunk;
     private final long durationOfChunk;
     private BackwardForwardBufferPair bf;
+    private final IntArrayList insertionRuns; // the window indices in chunk of the edges of the current chunk and the num of edges inserted with each, in the order of the arrivals
     static final int EMPTY_ROOT = -1;
     static boolean[] base;
 
+    // if pipelined, the backward buffer of a full chunk is computed by a background thread, while the edges keep flowing into the forward buffer
+    private final boolean pipelined;
+    private static final ExecutorService MAINTENANCE = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "bic-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
 
     @Deprecated
     public BidirectionalIncrementalConnectivity(Duration range, Duration slide, long firstTimeStamp) {
         super(range, slide);
+        pipelined = false;
         windowIndexInChunk = 0;
 
         chunkSize = (int) (super.range / super.slide);
 
         startOfEachChunk = firstTimeStamp;
+        insertionRuns = new IntArrayList();
         currentChunk = new Chunk(chunkSize, super.slide);
         currentChunk.setStartTime(startOfEachChunk);
 
@@ -42,12 +63,18 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
     }
 
     public BidirectionalIncrementalConnectivity(Duration range, Duration slide, long firstTimeStamp, List<IntIntPair> workloads) {
+        this(range, slide, firstTimeStamp, workloads, false);
+    }
+
+    public BidirectionalIncrementalConnectivity(Duration range, Duration slide, long firstTimeStamp, List<IntIntPair> workloads, boolean pipelined) {
         super(range, slide, workloads);
+        this.pipelined = pipelined;
         windowIndexInChunk = 0;
 
         chunkSize = (int) (super.range / super.slide);
 
         startOfEachChunk = firstTimeStamp;
+        insertionRuns = new IntArrayList();
         currentChunk = new Chunk(chunkSize, super.slide);
         currentChunk.setStartTime(startOfEachChunk);
 
@@ -67,13 +94,18 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
         if (currentChunk.chunkManagement(timeStamp)) { // current chunk is full
             // add the vertex set of the complete chunk into the backward buffer, which help prune vertices that are not inter-vertices during inserting into TaskQueue
             BackwardBuffer backwardBuffer = new BackwardBuffer(currentChunk, workload);
-            // capture the latency for computing the backward buffer; only used for experimental evaluation; comment out these lines for throughput experiments
-            backwardBuffer.compute();
+            Future<?> pending = null;
+            if (pipelined) // the full chunk is no longer modified, such that it can be read by the background thread
+                pending = MAINTENANCE.submit(backwardBuffer::compute);
+            else
+                // capture the latency for computing the backward buffer; only used for experimental evaluation; comment out these lines for throughput experiments
+                backwardBuffer.compute();
 
-            bf = new BackwardForwardBufferPair(backwardBuffer, new ForwardBuffer(workload));
+            bf = new BackwardForwardBufferPair(backwardBuffer, new ForwardBuffer(workload), pending);
 
             // get a new chunk
             startOfEachChunk += durationOfChunk;
+            insertionRuns.clear();
             currentChunk = new Chunk(chunkSize, super.slide);
             currentChunk.setStartTime(startOfEachChunk);
         }
@@ -86,6 +118,14 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
         // insert edge into the current chunk
         currentChunk.insert(streamingEdge);
 
+        int num = insertionRuns.size();
+        if (num > 0 && insertionRuns.getInt(num - 2) == windowIndexInChunk)
+            insertionRuns.set(num - 1, insertionRuns.getInt(num - 1) + 1);
+        else {
+            insertionRuns.add(windowIndexInChunk);
+            insertionRuns.add(1);
+        }
+
         bf.insert(streamingEdge, windowIndexInChunk);
     }
 
@@ -93,6 +133,99 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
     public void evict(long lessThan) {
     }
 
+    // the window is empty after a gap, such that the chunks start over from the startOfWindow time as from the first timestamp
+    @Override
+    public void restart(long startOfWindow) {
+        windowIndexInChunk = 0;
+
+        startOfEachChunk = startOfWindow;
+        insertionRuns.clear();
+        currentChunk = new Chunk(chunkSize, super.slide);
+        currentChunk.setStartTime(startOfEachChunk);
+
+        bf = new BackwardForwardBufferPair(new BackwardBuffer(new Chunk(chunkSize, super.slide), workload), new ForwardBuffer(workload));
+    }
+
+    // the backward buffer is written as the spanning forest of the previous chunk, where an edge closing a cycle of newer edges is dropped,
+    // such that every snapshot of the backward buffer, i.e., every suffix of the chunk, has the same connectivity and the same vertices
+    // the edges of the current chunk are written as they are with their window indices, because the bridging view depends on the index of every insertion
+    // states: start of the current chunk, window index in chunk, index of the current element, num of edges in every element of the previous and the current chunk,
+    // and the insertion runs
+    @Override
+    public void checkpoint(Path path) {
+        ArrayList<ArrayList<StreamingEdge>> previous = bf.b.getChunk().getData(), current = currentChunk.getData();
+        long[] sizes = new long[chunkSize << 1];
+        WindowStore forest = new WindowStore(), edges = new WindowStore();
+
+        UnionFindTree unionFindTree = new UnionFindTree();
+        List<StreamingEdge> newestFirst = new ArrayList<>();
+        for (int i = chunkSize - 1; i > 0; i--) { // chunk[0] is not needed, see BackwardBuffer.compute
+            List<StreamingEdge> element = previous.get(i);
+            for (int j = element.size() - 1; j > -1; j--) {
+                StreamingEdge streamingEdge = element.get(j);
+                boolean isNewLoop = streamingEdge.source == streamingEdge.target && !unionFindTree.connected(streamingEdge.source, streamingEdge.source);
+                if (unionFindTree.union(streamingEdge.source, streamingEdge.target) || isNewLoop) {
+                    newestFirst.add(streamingEdge);
+                    sizes[i]++;
+                }
+            }
+        }
+        for (int i = newestFirst.size() - 1; i > -1; i--)
+            forest.add(newestFirst.get(i));
+
+        for (int i = 0; i < chunkSize; i++) {
+            for (StreamingEdge streamingEdge : current.get(i))
+                edges.add(streamingEdge);
+            sizes[chunkSize + i] = current.get(i).size();
+        }
+
+        long[] runs = new long[insertionRuns.size()];
+        for (int i = 0; i < runs.length; i++)
+            runs[i] = insertionRuns.getInt(i);
+
+        WindowCheckpoint.Writer writer = checkpointWriter();
+        writer.addStates(startOfEachChunk, windowIndexInChunk, currentChunk.getCurrentIndex());
+        writer.addStates(sizes);
+        writer.addStates(runs);
+        writer.addSection(forest);
+        writer.addSection(edges);
+        writer.write(path);
+    }
+
+    // the backward buffer is computed from the spanning forest, and the edges of the current chunk are inserted again with their window indices
+    @Override
+    public void restore(Path path) {
+        WindowCheckpoint checkpoint = restoreCursor(path);
+        startOfEachChunk = checkpoint.state(0);
+        int windowIndex = (int) checkpoint.state(1);
+
+        Chunk previous = new Chunk(chunkSize, super.slide);
+        for (int i = 0, k = 0; i < chunkSize; i++)
+            for (long j = checkpoint.state(3 + i); j > 0; j--, k++)
+                previous.getData().get(i).add(new StreamingEdge(checkpoint.source(0, k), checkpoint.target(0, k), checkpoint.timeStamp(0, k)));
+        BackwardBuffer backwardBuffer = new BackwardBuffer(previous, workload);
+        backwardBuffer.compute();
+        bf = new BackwardForwardBufferPair(backwardBuffer, new ForwardBuffer(workload));
+
+        currentChunk = new Chunk(chunkSize, super.slide);
+        currentChunk.setPosition(startOfEachChunk, (int) checkpoint.state(2));
+        insertionRuns.clear();
+        int element = 0, remaining = (int) checkpoint.state(3 + chunkSize);
+        for (int r = 3 + (chunkSize << 1), k = 0; r < checkpoint.numOfStates(); r += 2) {
+            windowIndexInChunk = (int) checkpoint.state(r);
+            for (long j = checkpoint.state(r + 1); j > 0; j--, k++) {
+                while (remaining == 0)
+                    remaining = (int) checkpoint.state(3 + chunkSize + ++element);
+                remaining--;
+                StreamingEdge streamingEdge = new StreamingEdge(checkpoint.source(1, k), checkpoint.target(1, k), checkpoint.timeStamp(1, k));
+                currentChunk.getData().get(element).add(streamingEdge);
+                bf.insert(streamingEdge, windowIndexInChunk);
+            }
+            insertionRuns.add(windowIndexInChunk);
+            insertionRuns.add((int) checkpoint.state(r + 1));
+        }
+        windowIndexInChunk = windowIndex;
+    }
 
     @Override
     public boolean query(int source, int target) { // retrieve a computed backward buffer from the BackwardBuffer queue
@@ -124,6 +257,7 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
 
     @Override
     public long memoryConsumption() {
+        bf.awaitB(); // the backward buffer is measured after it has been computed
         return GraphLayout.parseInstance(this).totalSize();
     }
 
@@ -135,13 +269,37 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
 
         private final RootPair rootsInF, rootsInB;
 
+        private Future<?> pending; // the computation of b in the background, or null if b has been computed
+
         public BackwardForwardBufferPair(BackwardBuffer backwardBuffer, ForwardBuffer forwardBuffer) {
+            this(backwardBuffer, forwardBuffer, null);
+        }
+
+        public BackwardForwardBufferPair(BackwardBuffer backwardBuffer, ForwardBuffer forwardBuffer, Future<?> pending) {
             // bridging view is embedded in backward buffer
             // as the updates can be performed in a more efficient way by directly accessing augmented tree node in backward buffer
             b = backwardBuffer;
             f = forwardBuffer;
             rootsInF = new RootPair(); // for the case of inter-buffer checking
             rootsInB = new RootPair(); // for the case of inter-buffer checking
+            this.pending = pending;
+        }
+
+        // wait until b is computed, which is only needed for the operations accessing b
+        void awaitB() {
+            if (pending == null)
+                return;
+            if (!b.isDone.get()) {
+                try {
+                    pending.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+            pending = null;
         }
 
         void insert(StreamingEdge streamingEdge, int indexInB) {
@@ -155,6 +313,8 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
             if (indexInB == 0)
                 return;
 
+            awaitB();
+
             // the case that source and target were not connected before inserting the streaming edge
             int rootInF = rootAndChildInF.root; // the root after inserting the streaming edge
             int oldRootInF = rootAndChildInF.child; // the child of the new root, such that the child was a root before inserting the streaming edge
@@ -171,6 +331,8 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
         }
 
         boolean queryWithBF(int indexInB, int workloadIndex) {
+            awaitB();
+
             rootsInF.sourceRoot = EMPTY_ROOT;
             rootsInF.targetRoot = EMPTY_ROOT;
             rootsInB.sourceRoot = EMPTY_ROOT;
@@ -215,6 +377,8 @@ public class BidirectionalIncrementalConnectivity extends AbstractSlidingWindowC
 
         @Deprecated
         boolean queryWithBF(int indexInB, int source, int target) {
+            awaitB();
+
             if (f.intraConnected(source, target, rootsInF))
                 return true;
             if (b.intraConnected(source, target, indexInB, rootsInB))
@@ -49,7 +49,8 @@ public class Chunk {
     public boolean chunkManagement(long timeStamp){
         if (timeStamp > endOfCurrentElement) { // the current element in the chunk is full, and add the streaming edge into the next element in the chunk
             // assuming the timestamp is in the next element
-            // the case that there are gaps that are larger than the interval of each element is not considered
+            // for a gap larger than the interval of each element, the driver calls it once per window instance up to the edge,
+            // and restarts the chunks once the window is empty
             if (++currentIndex < chunkSize) { // if the current chunk is not full
                 currentElement = data.get(currentIndex); // get the next element
                 endOfCurrentElement += intervalOfEachElement; // update the endTimeStamp of the current element
@@ -63,6 +64,17 @@ public class Chunk {
         endOfCurrentElement = startTime + intervalOfEachElement - 1;
     }
 
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    // moves to the element at currentIndex of a chunk starting at startTime, as chunkManagement would have, for restoring a checkpoint
+    public void setPosition(long startTime, int currentIndex) {
+        this.currentIndex = currentIndex;
+        currentElement = data.get(currentIndex);
+        endOfCurrentElement = startTime + (currentIndex + 1) * intervalOfEachElement - 1;
+    }
+
     public ArrayList<ArrayList<StreamingEdge>> getData() {
         return data;
     }
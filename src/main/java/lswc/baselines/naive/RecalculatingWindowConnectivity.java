@@ -2,27 +2,26 @@ package lswc.baselines.naive;
 
 import lswc.AbstractSlidingWindowConnectivity;
 import lswc.StreamingEdge;
+import lswc.WindowStore;
 import lswc.baselines.utils.UnionFindTree;
 import it.unimi.dsi.fastutil.ints.IntIntPair;
 import org.openjdk.jol.info.GraphLayout;
 
 import java.time.Duration;
-import java.util.ArrayDeque;
 import java.util.List;
-import java.util.Queue;
 
 public class RecalculatingWindowConnectivity extends AbstractSlidingWindowConnectivity {
-    private final Queue<StreamingEdge> window;
+    private final WindowStore window;
     private UnionFindTree ufts;
 
     public RecalculatingWindowConnectivity(Duration range, Duration slide) {
         super(range, slide);
-        this.window = new ArrayDeque<>();
+        this.window = new WindowStore();
     }
 
     public RecalculatingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload) {
         super(range, slide, workload);
-        this.window = new ArrayDeque<>();
+        this.window = new WindowStore();
     }
 
     @Override
@@ -32,8 +31,7 @@ public class RecalculatingWindowConnectivity extends AbstractSlidingWindowConnec
 
     @Override
     public void evict(long lessThan) {
-        while (!window.isEmpty() && window.peek().timeStamp < lessThan)
-            window.poll();
+        window.evictBefore(lessThan);
     }
 
     @Override
@@ -53,8 +51,8 @@ public class RecalculatingWindowConnectivity extends AbstractSlidingWindowConnec
 
     private void buildUfts(){
         UnionFindTree incrementalConnectivity = new UnionFindTree();
-        for (StreamingEdge e : window)
-            incrementalConnectivity.union(e.source, e.target);
+        for (int i = 0, size = window.size(); i < size; i++)
+            incrementalConnectivity.union(window.source(i), window.target(i));
         this.ufts = incrementalConnectivity;
     }
 
@@ -1,22 +1,33 @@
 package lswc.benchmark;
 
 import lswc.AbstractSlidingWindowConnectivity;
+import lswc.EdgeSource;
+import lswc.HashVertexDictionary;
+import lswc.IdentityVertexDictionary;
 import lswc.StreamingEdge;
+import lswc.StreamingGraph;
+import lswc.VertexDictionary;
 import lswc.baselines.FdcSlidingWindowConnectivity;
 import lswc.baselines.dtree.DTreeConnectivity;
 import lswc.baselines.naive.DfsConnectivity;
 import lswc.baselines.naive.RecalculatingWindowConnectivity;
 import lswc.baselines.bic.BidirectionalIncrementalConnectivity;
+import lswc.omstlct.EdgeNodeOmstLctImpl;
+import lswc.omstlct.OffHeapOmstLctImpl;
+import lswc.omstlct.OmstLct;
 import lswc.omstlct.OmstLctSlidingWindowConnectivity;
 import lswc.omstlct.OmstLctImpl;
 import lswc.mst.MstDTreeImpl;
 import lswc.mst.MstSlidingWindowConnectivity;
+import lswc.omst.OptimizedMstArrayImpl;
 import lswc.omst.OptimizedMstDTreeImpl;
 import lswc.omst.OptimizedMstSTreeImpl;
 import lswc.omst.OptimizedMstSlidingWindowConnectivity;
+import lswc.omst.ShardedOmstSlidingWindowConnectivity;
 import it.unimi.dsi.fastutil.ints.IntIntPair;
 import org.jgrapht.alg.util.Pair;
 
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.time.Duration;
@@ -25,6 +36,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class BenchmarkRunner {
     static final String BENCHMARK_RESULTS = "./benchmark/results/";
@@ -44,6 +56,8 @@ public class BenchmarkRunner {
             "sg-semantic-scholar", 65695514
     );
 
+    private static ForkJoinPool shardedPool; // of the sharded engines, reused while the num of threads stays the same, see shardedPool
+
     public static void main(String[] args) {
 //         performance evaluation
         throughputRunner();
@@ -65,6 +79,15 @@ public class BenchmarkRunner {
         memoryConsumptionRunner();
         scalabilityFixedSlideMemRunner();
         scalabilityFixedRangeMemRunner();
+
+//         multi-core ingestion, varied num of threads
+        scalabilityThreadsThrExpRunner();
+
+//         cost of the vertex-id remapping step by itself
+        remappingRunner();
+
+//         per-link latency of the link-cut trees on long paths
+        linkLatencyRunner();
     }
 
     private static void throughputRunner() {
@@ -807,6 +830,207 @@ public class BenchmarkRunner {
         );
     }
 
+    private static void remappingRunner() {
+        List<String> results = new ArrayList<>();
+        int repeat = 3;
+        String expType = "remapping";
+        String[] dictionaries = {
+                "Hash",
+                "Identity"
+        };
+        setupRemappingExp(
+                dictionaries,
+                expType,
+                "sg-graph500-25",
+                List.of(Pair.of(Duration.ofHours(10), Duration.ofMinutes(30))),
+                repeat,
+                results
+        );
+        setupRemappingExp(
+                dictionaries,
+                expType,
+                "sg-com-friendster.ungraph",
+                List.of(Pair.of(Duration.ofHours(10), Duration.ofMinutes(30))),
+                repeat,
+                results
+        );
+        setupRemappingExp(
+                dictionaries,
+                expType,
+                "sg-semantic-scholar",
+                List.of(Pair.of(Duration.ofHours(10), Duration.ofMinutes(30))),
+                repeat,
+                results
+        );
+        writeResult(results, BENCHMARK_RESULTS + "throughput-" + expType + "-" + LocalDateTime.now() + ".txt");
+    }
+
+    private static void scalabilityThreadsThrExpRunner() {
+        String expType = "threads";
+        List<String> results = new ArrayList<>();
+        int repeat = 3;
+        String[] methods = {
+                "OMST-DTree",
+                "OMST-DTree-Sharded-1",
+                "OMST-DTree-Sharded-2",
+                "OMST-DTree-Sharded-4",
+                "OMST-DTree-Sharded-8",
+                "OMST-DTree-Sharded-16",
+                "OMST-DTree-Sharded-32",
+                "OMST-DTree-Sharded-64"
+        };
+        setupThrExp(
+                methods,
+                expType,
+                "sg-graph500-25",
+                List.of(Pair.of(Duration.ofHours(10), Duration.ofMinutes(30))),
+                repeat,
+                results
+        );
+        shutdownShardedPool();
+        setupThrExp(
+                methods,
+                expType,
+                "sg-com-friendster.ungraph",
+                List.of(Pair.of(Duration.ofHours(10), Duration.ofMinutes(30))),
+                repeat,
+                results
+        );
+        shutdownShardedPool();
+        writeResult(results, BENCHMARK_RESULTS + "throughput-" + expType + "-" + LocalDateTime.now() + ".txt");
+    }
+
+    private static void setupRemappingExp(
+            String[] dictionaries,
+            String expType,
+            String graph,
+            List<Pair<Duration, Duration>> rangeAndSlides,
+            int repeat,
+            List<String> results) {
+
+        // get graph
+        List<StreamingEdge> streamingEdges = loadStreamingGraph(graph);
+
+        System.out.println("Range and slide" + rangeAndSlides);
+        for (String dictionary : dictionaries)
+            runRemappingExp(
+                    graph,
+                    dictionary,
+                    expType,
+                    rangeAndSlides,
+                    repeat,
+                    streamingEdges,
+                    results
+            );
+    }
+
+    // only the vertex-id remapping is performed, i.e., acquiring the slots of the endpoints of arriving edges, and releasing them for expired edges
+    // the expiries of the window are computed before the timing, such that only the acquisitions and the releases of the dictionary are timed
+    private static void runRemappingExp(
+            String graph,
+            String dictionary,
+            String expType,
+            List<Pair<Duration, Duration>> rangeSlides,
+            int repeat,
+            List<StreamingEdge> streamingEdges,
+            List<String> results) {
+        System.out.println("Start " + expType + " throughput experiments for " + dictionary + " on " + graph + " with ranges and slides of " + rangeSlides);
+        int numOfEdges = streamingEdges.size();
+        int[] sources = new int[numOfEdges], targets = new int[numOfEdges];
+        long[] timeStamps = new long[numOfEdges];
+        EdgeSource edgeSource = edgeSource(streamingEdges); // read once in order, since the binary format decodes a block for every random access
+        for (int j = 0; j < numOfEdges && edgeSource.advance(); j++) {
+            sources[j] = edgeSource.source();
+            targets[j] = edgeSource.target();
+            timeStamps[j] = edgeSource.timeStamp();
+        }
+        int[] oldestInWindow = new int[numOfEdges]; // the index of the oldest edge in the window when the j-th edge arrives, i.e., the edges before it have expired
+        for (Pair<Duration, Duration> rangeSlide : rangeSlides) {
+            long range = rangeSlide.getFirst().toMillis();
+            long slide = rangeSlide.getSecond().toMillis();
+            long startOfCurrentWindow = timeStamps[0];
+            for (int j = 0, oldest = 0; j < numOfEdges; j++) { // the edges expire in the order of their arrivals
+                if (timeStamps[j] - startOfCurrentWindow >= range) {
+                    startOfCurrentWindow += slide;
+                    while (oldest < j && timeStamps[oldest] < startOfCurrentWindow)
+                        oldest++;
+                }
+                oldestInWindow[j] = oldest;
+            }
+
+            for (int i = 0; i < repeat; i++) {
+                VertexDictionary vertexDictionary = getVertexDictionary(dictionary, graph);
+
+                long start = System.nanoTime();
+                for (int j = 0, oldest = 0; j < numOfEdges; j++) {
+                    for (; oldest < oldestInWindow[j]; oldest++) {
+                        vertexDictionary.release(sources[oldest]);
+                        vertexDictionary.release(targets[oldest]);
+                    }
+                    vertexDictionary.acquire(sources[j]);
+                    vertexDictionary.acquire(targets[j]);
+                }
+                long end = System.nanoTime();
+
+                String result = graph + "," + expType + "," + "Remap-" + dictionary + "," + range + "," + slide + "," + numOfEdges + "," + (end - start) + "," + 0;
+                System.out.println(result + " (slots: " + vertexDictionary.numOfSlots() + ")");
+                results.add(result);
+                System.gc();
+            }
+        }
+    }
+
+    private static void linkLatencyRunner() {
+        int repeat = 3;
+        int numOfLinks = 1000;
+        String[] methods = {
+                "OMST-LCTree",
+                "OMST-LCTree-EdgeNode"
+        };
+        int[] pathLengths = {1_000, 10_000, 100_000, 1_000_000};
+        for (String method : methods)
+            for (int pathLength : pathLengths)
+                for (int i = 0; i < repeat; i++)
+                    runLinkLatencyExp(method, pathLength, numOfLinks);
+    }
+
+    // Two paths of the given length are built, and then the paths are repeatedly linked and cut at inner vertices, such that every link re-roots a long path
+    private static void runLinkLatencyExp(String method, int pathLength, int numOfLinks) {
+        System.out.println("Start link latency experiments for " + method + " with paths of " + pathLength + " vertices");
+        OmstLct lct = getLct(method);
+        long timeStamp = 0L;
+        for (int i = 0; i + 1 < pathLength; i++) {
+            lct.insertEdge(i, i + 1, timeStamp++); // the first path has the vertices [0, pathLength)
+            lct.insertEdge(pathLength + i, pathLength + i + 1, timeStamp++); // the second path has the vertices [pathLength, 2 * pathLength)
+        }
+
+        Random random = new Random(0);
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < numOfLinks; i++) {
+            int u = random.nextInt(pathLength), v = pathLength + random.nextInt(pathLength);
+
+            long start = System.nanoTime();
+            lct.insertEdge(u, v, timeStamp++);
+            long end = System.nanoTime();
+
+            result.add(end - start);
+            lct.deleteEdge(u, v);
+        }
+        writePerWindowResult(result, BENCHMARK_RESULTS + "link-latency-" + method + "-path" + pathLength + "-" + LocalDateTime.now() + ".txt");
+        System.gc();
+    }
+
+    private static OmstLct getLct(String method) {
+        switch (method) {
+            case "OMST-LCTree":
+                return new OmstLctImpl();
+            case "OMST-LCTree-EdgeNode":
+                return new EdgeNodeOmstLctImpl();
+            default:
+                return null;
+        }
+    }
+
     private static void setupMemExp( // various sizes of workloads
                                      String[] methods,
                                      String expType,
@@ -815,7 +1039,7 @@ public class BenchmarkRunner {
                                      int numOfQueries) {
 
         // get graph
-        List<StreamingEdge> streamingEdges = GraphUtils.readStreamingGraph(BENCHMARK_DATASETS + graph + ".txt", ",");
+        List<StreamingEdge> streamingEdges = loadStreamingGraph(graph);
 
         if (rangeAndSlides == null)
             return;
@@ -908,7 +1132,7 @@ public class BenchmarkRunner {
                                      List<List<IntIntPair>> workloads) {
 
         // get graph
-        List<StreamingEdge> streamingEdges = GraphUtils.readStreamingGraph(BENCHMARK_DATASETS + graph + ".txt", ",");
+        List<StreamingEdge> streamingEdges = loadStreamingGraph(graph);
 
         for (List<IntIntPair> workload : workloads) {
             System.out.println("Workload size: " + workload.size());
@@ -968,7 +1192,7 @@ public class BenchmarkRunner {
             List<Pair<Duration, Duration>> rangeAndSlides,
             List<List<IntIntPair>> workloads) { // various sizes of workloads
         // get graph
-        List<StreamingEdge> streamingEdges = GraphUtils.readStreamingGraph(BENCHMARK_DATASETS + graph + ".txt", ",");
+        List<StreamingEdge> streamingEdges = loadStreamingGraph(graph);
 
         for (List<IntIntPair> workload : workloads) {
             System.out.println("Workload size: " + workload.size());
@@ -1007,7 +1231,7 @@ public class BenchmarkRunner {
                 AbstractSlidingWindowConnectivity slidingWindowConnectivity = getSwc(method, range, slide, workload, streamingEdges.get(0).timeStamp);
                 long start = System.nanoTime();
                 slidingWindowConnectivity.computeSlidingWindowConnectivity(
-                        streamingEdges,
+                        edgeSource(streamingEdges),
                         initializeOutput(workload.size())
                 );
                 long end = System.nanoTime();
@@ -1063,6 +1287,9 @@ public class BenchmarkRunner {
             case "BIC":
                 ret = new BidirectionalIncrementalConnectivity(range, slide, first, workload); // BIC uses first timestamp to initialize chunk
                 break;
+            case "BIC-Pipelined":
+                ret = new BidirectionalIncrementalConnectivity(range, slide, first, workload, true);
+                break;
             case "MST-DTree":
                 ret = new MstSlidingWindowConnectivity(range, slide, workload, new MstDTreeImpl());
                 break;
@@ -1072,15 +1299,110 @@ public class BenchmarkRunner {
             case "OMST-STree":
                 ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstSTreeImpl());
                 break;
+            case "OMST-DTree-Array":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstArrayImpl(true));
+                break;
+            case "OMST-STree-Array":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstArrayImpl(false));
+                break;
+            case "MST-DTree-Parallel":
+                ret = new MstSlidingWindowConnectivity(range, slide, workload, new MstDTreeImpl(), ForkJoinPool.commonPool());
+                break;
+            case "OMST-DTree-Parallel":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstDTreeImpl(), ForkJoinPool.commonPool());
+                break;
+            case "OMST-STree-Parallel":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstSTreeImpl(), ForkJoinPool.commonPool());
+                break;
+            case "OMST-DTree-Array-Parallel":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstArrayImpl(true), ForkJoinPool.commonPool());
+                break;
+            case "MST-DTree-Snapshot":
+                ret = new MstSlidingWindowConnectivity(range, slide, workload, new MstDTreeImpl(), true);
+                break;
+            case "OMST-DTree-Snapshot":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstDTreeImpl(), true);
+                break;
+            case "OMST-STree-Snapshot":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstSTreeImpl(), true);
+                break;
+            case "OMST-DTree-Array-Snapshot":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstArrayImpl(true), true);
+                break;
+            case "OMST-STree-Array-Snapshot":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstArrayImpl(false), true);
+                break;
+            case "OMST-LCTree-Snapshot":
+                ret = new OmstLctSlidingWindowConnectivity(range, slide, workload, new OmstLctImpl(), true);
+                break;
+            case "OMST-LCTree-EdgeNode-Snapshot":
+                ret = new OmstLctSlidingWindowConnectivity(range, slide, workload, new EdgeNodeOmstLctImpl(), true);
+                break;
+            case "OMST-DTree-TreeExpiry":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstDTreeImpl(), false, true);
+                break;
+            case "OMST-STree-TreeExpiry":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstSTreeImpl(), false, true);
+                break;
+            case "OMST-DTree-Array-TreeExpiry":
+                ret = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstArrayImpl(true), false, true);
+                break;
+            case "OMST-LCTree-TreeExpiry":
+                ret = new OmstLctSlidingWindowConnectivity(range, slide, workload, new OmstLctImpl(), false, true);
+                break;
+            case "OMST-LCTree-EdgeNode-TreeExpiry":
+                ret = new OmstLctSlidingWindowConnectivity(range, slide, workload, new EdgeNodeOmstLctImpl(), false, true);
+                break;
             case "OMST-LCTree":
                 ret = new OmstLctSlidingWindowConnectivity(range, slide, workload, new OmstLctImpl());
                 break;
+            case "OMST-LCTree-NoMap":
+                ret = new OmstLctSlidingWindowConnectivity(range, slide, workload, new OmstLctImpl(false));
+                break;
+            case "OMST-LCTree-OffHeap":
+                ret = new OmstLctSlidingWindowConnectivity(range, slide, workload, new OffHeapOmstLctImpl());
+                break;
+            case "OMST-LCTree-EdgeNode":
+                ret = new OmstLctSlidingWindowConnectivity(range, slide, workload, new EdgeNodeOmstLctImpl());
+                break;
             default:
-                ret = null;
+                if (method.startsWith("OMST-DTree-Sharded-")) { // the suffix is the num of threads, which is also the num of shards
+                    int numOfThreads = Integer.parseInt(method.substring("OMST-DTree-Sharded-".length()));
+                    ret = new ShardedOmstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstDTreeImpl(), shardedPool(numOfThreads), numOfThreads);
+                } else
+                    ret = null;
         }
         return ret;
     }
 
+    // the repeats of a num of threads share one pool, and the pool of the previous num of threads is shut down, such that its idle workers are not alive while the next one is measured
+    private static ForkJoinPool shardedPool(int numOfThreads) {
+        if (shardedPool != null && shardedPool.getParallelism() == numOfThreads)
+            return shardedPool;
+        shutdownShardedPool();
+        shardedPool = new ForkJoinPool(numOfThreads);
+        return shardedPool;
+    }
+
+    private static void shutdownShardedPool() {
+        if (shardedPool != null) {
+            shardedPool.shutdown();
+            shardedPool = null;
+        }
+    }
+
+    private static VertexDictionary getVertexDictionary(String dictionary, String graph) {
+        int numOfVertices = GRAPH_VERTEX_NUM.getOrDefault(graph, 1 << 10);
+        switch (dictionary) {
+            case "Hash":
+                return new HashVertexDictionary(numOfVertices);
+            case "Identity":
+                return new IdentityVertexDictionary(numOfVertices);
+            default:
+                return null;
+        }
+    }
+
     private static void writeResult(List<String> results, String path) {
         FileWriter fileWriter;
         try {
@@ -1120,6 +1442,22 @@ public class BenchmarkRunner {
         }
     }
 
+    // the binary format is read in place if the dataset has been converted, see BinaryStreamingGraph.convert
+    private static List<StreamingEdge> loadStreamingGraph(String graph) {
+        if (new File(BENCHMARK_DATASETS + graph + ".bin").exists())
+            return BinaryStreamingGraph.open(BENCHMARK_DATASETS + graph + ".bin");
+        return MappedGraphLoader.load(BENCHMARK_DATASETS + graph + ".txt", ',');
+    }
+
+    // the loaded graphs are pulled in primitive form, other lists through their iterators
+    private static EdgeSource edgeSource(List<StreamingEdge> streamingEdges) {
+        if (streamingEdges instanceof StreamingGraph)
+            return ((StreamingGraph) streamingEdges).edgeSource();
+        if (streamingEdges instanceof BinaryStreamingGraph)
+            return ((BinaryStreamingGraph) streamingEdges).edgeSource();
+        return EdgeSource.of(streamingEdges);
+    }
+
     private static List<IntIntPair> getFullWorkLoad(String graph) {
         return WorkloadUtils.readWorkload(BENCHMARK_WORKLOADS + graph + ".json");
     }
@@ -0,0 +1,375 @@
+package lswc.benchmark;
+
+import lswc.EdgeSource;
+import lswc.StreamingEdge;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Streaming graph in a binary columnar format, read in place from the memory-mapped file
+// Layout: header | blocks | block index
+//   header: magic, version, edges per block, num of blocks (ints), num of edges, offset of the block index (longs)
+//   block: num of edges, bytes of the source column, bytes of the target column (varints) | sources (varints) | targets (varints) | timestamps
+//          where every timestamp is the zigzag varint of its difference to the previous one, starting from the first timestamp of the block
+//   block index: offset and first timestamp of every block (longs), for seeking to a block by position or by time
+// The edges are materialized as StreamingEdge objects while iterating, i.e., only the engines hold the objects of the edges in their windows
+public class BinaryStreamingGraph extends AbstractList<StreamingEdge> implements AutoCloseable {
+    private static final int MAGIC = 0x53574347; // "SWCG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 12;
+    private static final long MAX_SEGMENT_SIZE = 1L << 30; // blocks are mapped in segments, since a mapped buffer is limited to 2GB
+
+    private final FileChannel channel;
+    private final int blockSize, numOfBlocks;
+    private final long numOfEdges;
+    private final long[] blockOffsets; // with the offset of the block index at the end
+    private final long[] firstTimeStamps;
+    private Cursor cursor; // of get, whose next edge is the one at the given position, such that sequential indices decode every edge once
+    private long position;
+
+    private BinaryStreamingGraph(FileChannel channel, int blockSize, int numOfBlocks, long numOfEdges, long[] blockOffsets, long[] firstTimeStamps) {
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.numOfBlocks = numOfBlocks;
+        this.numOfEdges = numOfEdges;
+        this.blockOffsets = blockOffsets;
+        this.firstTimeStamps = firstTimeStamps;
+    }
+
+    public static BinaryStreamingGraph open(String path) {
+        System.out.println("Loading graph: " + path);
+        try {
+            FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                channel.close();
+                throw new RuntimeException("Not a binary streaming graph: " + path);
+            }
+            int blockSize = header.getInt(), numOfBlocks = header.getInt();
+            long numOfEdges = header.getLong(), indexOffset = header.getLong();
+
+            long[] blockOffsets = new long[numOfBlocks + 1], firstTimeStamps = new long[numOfBlocks];
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) numOfBlocks * 2 * Long.BYTES);
+            for (int i = 0; i < numOfBlocks; i++) {
+                blockOffsets[i] = index.getLong();
+                firstTimeStamps[i] = index.getLong();
+            }
+            blockOffsets[numOfBlocks] = indexOffset;
+
+            System.out.println("Num of streaming edges in the queue: " + numOfEdges);
+            return new BinaryStreamingGraph(channel, blockSize, numOfBlocks, numOfEdges, blockOffsets, firstTimeStamps);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // args: path of the text file, path of the binary file
+    public static void main(String[] args) {
+        convert(args[0], ',', args[1]);
+    }
+
+    // converts a streaming graph in the text format, where loops and multi-edges are removed while loading
+    public static void convert(String textPath, char delimiter, String binaryPath) {
+        write(binaryPath, MappedGraphLoader.load(textPath, delimiter));
+    }
+
+    public static void write(String path, Collection<StreamingEdge> streamingEdges) {
+        write(path, streamingEdges, DEFAULT_BLOCK_SIZE);
+    }
+
+    public static void write(String path, Collection<StreamingEdge> streamingEdges, int blockSize) {
+        int numOfBlocks = (int) ((streamingEdges.size() + (long) blockSize - 1) / blockSize);
+        long[] blockOffsets = new long[numOfBlocks], firstTimeStamps = new long[numOfBlocks];
+        ByteArrayList sources = new ByteArrayList(), targets = new ByteArrayList(), timeStamps = new ByteArrayList(), blockHeader = new ByteArrayList();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = HEADER_SIZE;
+            int block = 0, numInBlock = 0;
+            long numOfEdges = 0, previous = 0;
+            for (StreamingEdge streamingEdge : streamingEdges) {
+                if (numInBlock == 0) {
+                    firstTimeStamps[block] = streamingEdge.timeStamp;
+                    previous = streamingEdge.timeStamp;
+                }
+                writeVarInt(sources, streamingEdge.source);
+                writeVarInt(targets, streamingEdge.target);
+                writeVarLong(timeStamps, zigZag(streamingEdge.timeStamp - previous));
+                previous = streamingEdge.timeStamp;
+                numOfEdges++;
+
+                if (++numInBlock == blockSize) {
+                    blockOffsets[block++] = position;
+                    position += writeBlock(channel, position, numInBlock, blockHeader, sources, targets, timeStamps);
+                    numInBlock = 0;
+                }
+            }
+            if (numInBlock > 0) {
+                blockOffsets[block] = position;
+                position += writeBlock(channel, position, numInBlock, blockHeader, sources, targets, timeStamps);
+            }
+
+            ByteBuffer index = ByteBuffer.allocate(numOfBlocks * 2 * Long.BYTES);
+            for (int i = 0; i < numOfBlocks; i++)
+                index.putLong(blockOffsets[i]).putLong(firstTimeStamps[i]);
+            writeFully(channel, index.flip(), position);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(blockSize).putInt(numOfBlocks).putLong(numOfEdges).putLong(position);
+            writeFully(channel, header.flip(), 0);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // returns the num of bytes of the block, the columns are cleared
+    private static int writeBlock(FileChannel channel, long position, int numInBlock, ByteArrayList blockHeader, ByteArrayList sources, ByteArrayList targets, ByteArrayList timeStamps) throws IOException {
+        blockHeader.clear();
+        writeVarInt(blockHeader, numInBlock);
+        writeVarInt(blockHeader, sources.size());
+        writeVarInt(blockHeader, targets.size());
+
+        ByteBuffer buffer = ByteBuffer.allocate(blockHeader.size() + sources.size() + targets.size() + timeStamps.size());
+        buffer.put(blockHeader.elements(), 0, blockHeader.size());
+        buffer.put(sources.elements(), 0, sources.size());
+        buffer.put(targets.elements(), 0, targets.size());
+        buffer.put(timeStamps.elements(), 0, timeStamps.size());
+        sources.clear();
+        targets.clear();
+        timeStamps.clear();
+        return writeFully(channel, buffer.flip(), position);
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining())
+            written += channel.write(buffer, position + written);
+        return written;
+    }
+
+    // vertex ids are written as unsigned varints
+    private static void writeVarInt(ByteArrayList bytes, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes.add((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        bytes.add((byte) value);
+    }
+
+    private static void writeVarLong(ByteArrayList bytes, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes.add((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        bytes.add((byte) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public long firstTimeStamp() {
+        return numOfBlocks == 0 ? Long.MIN_VALUE : firstTimeStamps[0];
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, numOfEdges);
+    }
+
+    public long numOfEdges() {
+        return numOfEdges;
+    }
+
+    // continues from the previous index within its block or forwards, and otherwise seeks to the block of the edge, i.e., random indices decode a block each
+    // the cursor of get is not shared between threads, use the iterator or the edge source to read the edges in order
+    @Override
+    public StreamingEdge get(int i) {
+        if (i < 0 || i >= numOfEdges)
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + numOfEdges);
+        int block = i / blockSize;
+        if (cursor == null || i < position || block > position / blockSize) {
+            if (cursor == null)
+                cursor = new Cursor(block);
+            else
+                cursor.seek(block);
+            position = (long) block * blockSize;
+        }
+        for (; position < i; position++)
+            cursor.advance();
+        position++;
+        return cursor.next();
+    }
+
+    @Override
+    public Iterator<StreamingEdge> iterator() {
+        return new Cursor(0);
+    }
+
+    // iterates from the first block that may contain edges with timestamps not less than the given one, i.e., for streams in the order of their timestamps,
+    // the edges before the first of them are at most the ones of a block
+    public Iterator<StreamingEdge> iterator(long fromTimeStamp) {
+        return new Cursor(firstBlock(fromTimeStamp));
+    }
+
+    // pulls the edges without materializing them as objects
+    public EdgeSource edgeSource() {
+        return new Cursor(0);
+    }
+
+    public EdgeSource edgeSource(long fromTimeStamp) {
+        return new Cursor(firstBlock(fromTimeStamp));
+    }
+
+    private int firstBlock(long fromTimeStamp) {
+        int low = 0, high = numOfBlocks - 1; // the last block whose first timestamp is less than fromTimeStamp
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (firstTimeStamps[mid] < fromTimeStamp)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+        return Math.max(0, high);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private class Cursor implements Iterator<StreamingEdge>, EdgeSource {
+        private int block, endOfSegment; // the blocks in [block, endOfSegment) are mapped
+        private long segmentOffset;
+        private MappedByteBuffer segment;
+        private int remainingInBlock, sourcePosition, targetPosition, timeStampPosition;
+        private int source, target;
+        private long timeStamp, previousTimeStamp; // of the current edge, and the base of the next delta
+        private int next; // the position after the last decoded varint
+
+        Cursor(int block) {
+            this.block = block;
+            this.endOfSegment = block;
+            if (block < numOfBlocks)
+                startBlock();
+        }
+
+        // moves to the first edge of the given block, where the segment is mapped again only if it does not contain the block
+        void seek(int block) {
+            if (segment == null || blockOffsets[block] < segmentOffset || block >= endOfSegment)
+                endOfSegment = block;
+            this.block = block;
+            startBlock();
+        }
+
+        private void startBlock() {
+            if (block == endOfSegment)
+                mapSegment();
+            int position = (int) (blockOffsets[block] - segmentOffset);
+            remainingInBlock = readVarInt(position);
+            position = next;
+            int sourceBytes = readVarInt(position);
+            position = next;
+            int targetBytes = readVarInt(position);
+            sourcePosition = next;
+            targetPosition = sourcePosition + sourceBytes;
+            timeStampPosition = targetPosition + targetBytes;
+            previousTimeStamp = firstTimeStamps[block];
+        }
+
+        // the segment starts with the current block and spans as many whole blocks as it can
+        private void mapSegment() {
+            segmentOffset = blockOffsets[block];
+            endOfSegment = block + 1;
+            while (endOfSegment < numOfBlocks && blockOffsets[endOfSegment + 1] - segmentOffset <= MAX_SEGMENT_SIZE)
+                endOfSegment++;
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentOffset, blockOffsets[endOfSegment] - segmentOffset);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private int readVarInt(int position) {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = segment.get(position++);
+                value |= (b & 0x7F) << shift;
+                if (b >= 0)
+                    break;
+            }
+            next = position;
+            return value;
+        }
+
+        private long readVarLong(int position) {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = segment.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0)
+                    break;
+            }
+            next = position;
+            return value;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return block < numOfBlocks;
+        }
+
+        @Override
+        public StreamingEdge next() {
+            if (!advance())
+                throw new NoSuchElementException();
+            return new StreamingEdge(source, target, timeStamp);
+        }
+
+        @Override
+        public boolean advance() {
+            if (block >= numOfBlocks)
+                return false;
+            source = readVarInt(sourcePosition);
+            sourcePosition = next;
+            target = readVarInt(targetPosition);
+            targetPosition = next;
+            long delta = readVarLong(timeStampPosition);
+            timeStampPosition = next;
+            previousTimeStamp += (delta >>> 1) ^ -(delta & 1);
+            timeStamp = previousTimeStamp;
+
+            if (--remainingInBlock == 0 && ++block < numOfBlocks)
+                startBlock();
+            return true;
+        }
+
+        @Override
+        public int source() {
+            return source;
+        }
+
+        @Override
+        public int target() {
+            return target;
+        }
+
+        @Override
+        public long timeStamp() {
+            return timeStamp;
+        }
+    }
+}
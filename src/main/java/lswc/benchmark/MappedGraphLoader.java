@@ -0,0 +1,211 @@
+package lswc.benchmark;
+
+import lswc.StreamingGraph;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Loader of streaming graphs in the format read by GraphUtils.readStreamingGraph, i.e., one "source,target,timestamp" per line
+// The file is memory-mapped in newline-aligned chunks, which are parsed in parallel in two passes: the first pass counts the lines of every chunk,
+// such that the second pass writes the edges of a chunk directly into its range of the primitive arrays of the graph
+// Loops and multi-edges are removed as in GraphUtils.readStreamingGraph, i.e., the first occurrence of every pair of vertices is kept,
+// with packed pairs of vertices stored in open-addressing sets, sharded by hash such that the shards are processed in parallel
+public class MappedGraphLoader {
+    private static final long MAX_CHUNK_SIZE = 1L << 30; // a mapped buffer is limited to 2GB
+    private static final int CHUNKS_PER_THREAD = 4; // for balancing chunks with different densities of lines
+    private static final int MAX_SHARD_SIZE = 1 << 29; // a set of fastutil holds at most 2^30 slots
+
+    public static StreamingGraph load(String path, char delimiter) {
+        return load(path, delimiter, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static StreamingGraph load(String path, char delimiter, int numOfThreads) {
+        return load(path, delimiter, numOfThreads, true);
+    }
+
+    // with removeMultiEdges unset, the re-arrivals of a pair of vertices are kept, such that the OMST engines refresh the tree edge of the pair
+    public static StreamingGraph load(String path, char delimiter, int numOfThreads, boolean removeMultiEdges) {
+        System.out.println("Loading graph: " + path);
+        ForkJoinPool pool = new ForkJoinPool(numOfThreads);
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer[] chunks = mapChunks(channel, (long) numOfThreads * CHUNKS_PER_THREAD);
+
+            // first pass: lines per chunk
+            List<Callable<Integer>> counters = new ArrayList<>();
+            for (MappedByteBuffer chunk : chunks)
+                counters.add(() -> countLines(chunk));
+            List<Future<Integer>> numOfLines = pool.invokeAll(counters);
+            long[] offsets = new long[chunks.length + 1];
+            for (int i = 0; i < chunks.length; i++)
+                offsets[i + 1] = offsets[i] + numOfLines.get(i).get();
+            if (offsets[chunks.length] > Integer.MAX_VALUE - 8)
+                throw new RuntimeException("Too many edges for a streaming graph: " + offsets[chunks.length]);
+
+            // second pass: edges of every chunk, loops are kept for now and removed below
+            int numOfLinesInFile = (int) offsets[chunks.length];
+            int[] sources = new int[numOfLinesInFile], targets = new int[numOfLinesInFile];
+            long[] timeStamps = new long[numOfLinesInFile];
+            List<Callable<Integer>> parsers = new ArrayList<>();
+            for (int i = 0; i < chunks.length; i++) {
+                MappedByteBuffer chunk = chunks[i];
+                int offset = (int) offsets[i];
+                parsers.add(() -> parseLines(chunk, delimiter, sources, targets, timeStamps, offset));
+            }
+            int loop = 0;
+            for (Future<Integer> loops : pool.invokeAll(parsers))
+                loop += loops.get();
+
+            // every shard marks the multi-edges of its pairs of vertices as loops, which cannot be kept otherwise
+            // without any shard, nothing is marked if the multi-edges are kept
+            int numOfShards = removeMultiEdges ? Math.max(numOfThreads, (int) ((numOfLinesInFile + (long) MAX_SHARD_SIZE - 1) / MAX_SHARD_SIZE)) : 0;
+            List<Callable<Integer>> deduplicators = new ArrayList<>();
+            for (int shard = 0; shard < numOfShards; shard++) {
+                int currentShard = shard;
+                deduplicators.add(() -> markMultiEdges(sources, targets, numOfLinesInFile, numOfShards, currentShard));
+            }
+            int multiEdge = 0;
+            for (Future<Integer> multiEdges : pool.invokeAll(deduplicators))
+                multiEdge += multiEdges.get();
+
+            // compaction in file order
+            int size = 0;
+            for (int i = 0; i < numOfLinesInFile; i++) {
+                if (sources[i] == targets[i])
+                    continue;
+                sources[size] = sources[i];
+                targets[size] = targets[i];
+                timeStamps[size] = timeStamps[i];
+                size++;
+            }
+
+            System.out.println("Num of streaming edges in the queue: " + size);
+            System.out.println("Num of loops: " + loop);
+            System.out.println("Num of multi-edges: " + multiEdge);
+            return new StreamingGraph(sources, targets, timeStamps, size);
+        } catch (IOException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // chunks of about the same size, where every chunk but the last one ends right after a newline
+    private static MappedByteBuffer[] mapChunks(FileChannel channel, long numOfChunks) throws IOException {
+        long fileSize = channel.size();
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(1, (fileSize + numOfChunks - 1) / numOfChunks));
+        List<MappedByteBuffer> chunks = new ArrayList<>();
+        ByteBuffer window = ByteBuffer.allocate(1 << 12);
+        long start = 0;
+        while (start < fileSize) {
+            long end = Math.min(fileSize, start + chunkSize);
+            while (end < fileSize) { // move the end behind the next newline
+                window.clear();
+                int read = channel.read(window, end);
+                int i = 0;
+                while (i < read && window.get(i) != '\n')
+                    i++;
+                end += i;
+                if (i < read) {
+                    end++;
+                    break;
+                }
+            }
+            if (end - start > Integer.MAX_VALUE)
+                throw new RuntimeException("Line too long at position " + start);
+            chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+            start = end;
+        }
+        return chunks.toArray(new MappedByteBuffer[0]);
+    }
+
+    // a line is counted iff it is not empty, in the same way as in parseLines
+    private static int countLines(MappedByteBuffer chunk) {
+        int numOfLines = 0, limit = chunk.limit();
+        boolean startOfLine = true;
+        for (int i = 0; i < limit; i++) {
+            byte b = chunk.get(i);
+            if (startOfLine && b != '\n' && b != '\r')
+                numOfLines++;
+            startOfLine = b == '\n' || (startOfLine && b == '\r'); // leading '\r' are skipped by parseLines
+        }
+        return numOfLines;
+    }
+
+    // returns the number of loops
+    private static int parseLines(MappedByteBuffer chunk, char delimiter, int[] sources, int[] targets, long[] timeStamps, int offset) {
+        int loop = 0, limit = chunk.limit(), position = 0, index = offset;
+        while (position < limit) {
+            byte b = chunk.get(position);
+            if (b == '\n' || b == '\r') { // empty line, or the end of the previous one
+                position++;
+                continue;
+            }
+
+            long value = 0;
+            boolean negative = false;
+            int field = 0;
+            for (; position < limit && (b = chunk.get(position)) != '\n'; position++) {
+                if (b == delimiter || b == '\r') {
+                    if (field == 0)
+                        sources[index] = (int) (negative ? -value : value);
+                    else if (field == 1)
+                        targets[index] = (int) (negative ? -value : value);
+                    else if (field == 2)
+                        timeStamps[index] = negative ? -value : value;
+                    field++;
+                    value = 0;
+                    negative = false;
+                } else if (b == '-') {
+                    negative = true;
+                } else if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                } else if (b != ' ') {
+                    throw new RuntimeException("Unexpected character '" + (char) b + "' in line " + (index + 1));
+                }
+            }
+            if (field == 2) // no delimiter nor '\r' after the timestamp
+                timeStamps[index] = negative ? -value : value;
+            else if (field < 2)
+                throw new RuntimeException("Missing fields in line " + (index + 1));
+
+            if (sources[index] == targets[index])
+                loop++;
+            index++;
+        }
+        return loop;
+    }
+
+    // returns the number of multi-edges among the pairs of vertices hashed to the shard
+    private static int markMultiEdges(int[] sources, int[] targets, int numOfLines, int numOfShards, int shard) {
+        LongOpenHashSet set = new LongOpenHashSet(Math.min(MAX_SHARD_SIZE, numOfLines / numOfShards + 1));
+        int multiEdge = 0;
+        for (int i = 0; i < numOfLines; i++) {
+            int source = sources[i], target = targets[i];
+            if (source == target)
+                continue;
+            long pair = source > target ? ((long) source << 32) | (target & 0xFFFFFFFFL) : ((long) target << 32) | (source & 0xFFFFFFFFL);
+            if (Long.remainderUnsigned(HashCommon.mix(pair), numOfShards) != shard)
+                continue;
+            if (!set.add(pair)) {
+                targets[i] = source; // the slot of every line is written by a single shard
+                multiEdge++;
+            }
+        }
+        return multiEdge;
+    }
+}
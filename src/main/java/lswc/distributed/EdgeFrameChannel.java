@@ -0,0 +1,121 @@
+package lswc.distributed;
+
+import lswc.StreamingEdge;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+// Frames of edges exchanged between a worker and the coordinator over a blocking socket channel
+// A frame holds the edges of a worker in one slide of the coordinator, see slideIndex:
+//   index of the slide (long), num of edges (int) | source, target (ints) and timestamp (long) of every edge
+// The last frame of a worker has the index END, and carries the latest timestamp of the worker instead of edges
+class EdgeFrameChannel implements AutoCloseable {
+    static final long END = -1L;
+    private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int EDGE_SIZE = Integer.BYTES * 2 + Long.BYTES;
+
+    private final SocketChannel channel;
+    private ByteBuffer buffer;
+
+    // the frame last read
+    private long index;
+    private int numOfEdges;
+    private StreamingEdge[] edges;
+    private long lastTimeStamp;
+
+    EdgeFrameChannel(SocketChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(HEADER_SIZE + EDGE_SIZE * 1024);
+        this.edges = new StreamingEdge[1024];
+    }
+
+    static EdgeFrameChannel connect(SocketAddress address) throws IOException {
+        return new EdgeFrameChannel(SocketChannel.open(address));
+    }
+
+    // the slides are the ones of the window instances starting at firstTimeStamp, i.e., slide 0 holds the edges of the first window instance,
+    // and slide k > 0 holds the edges arriving between the ends of the window instances k - 1 and k
+    static long slideIndex(long timeStamp, long firstTimeStamp, long range, long slide) {
+        long endOfFirstWindow = firstTimeStamp + range;
+        return timeStamp < endOfFirstWindow ? 0 : (timeStamp - endOfFirstWindow) / slide + 1;
+    }
+
+    void beginFrame(long index, int numOfEdges) {
+        int size = HEADER_SIZE + EDGE_SIZE * numOfEdges;
+        if (buffer.capacity() < size)
+            buffer = ByteBuffer.allocateDirect(Math.max(size, buffer.capacity() << 1));
+        buffer.clear();
+        buffer.putLong(index).putInt(numOfEdges);
+    }
+
+    void putEdge(StreamingEdge streamingEdge) {
+        buffer.putInt(streamingEdge.source).putInt(streamingEdge.target).putLong(streamingEdge.timeStamp);
+    }
+
+    void endFrame() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    void writeEnd(long lastTimeStamp) throws IOException {
+        buffer.clear();
+        buffer.putLong(END).putLong(lastTimeStamp);
+        endFrame();
+    }
+
+    void readFrame() throws IOException {
+        readFully(Long.BYTES);
+        index = buffer.getLong();
+        if (index == END) {
+            readFully(Long.BYTES);
+            lastTimeStamp = buffer.getLong();
+            numOfEdges = 0;
+            return;
+        }
+
+        readFully(Integer.BYTES);
+        numOfEdges = buffer.getInt();
+        if (edges.length < numOfEdges)
+            edges = new StreamingEdge[Math.max(numOfEdges, edges.length << 1)];
+        int capacity = buffer.capacity() / EDGE_SIZE;
+        for (int i = 0; i < numOfEdges; i += capacity) { // in chunks of the buffer
+            int num = Math.min(capacity, numOfEdges - i);
+            readFully(num * EDGE_SIZE);
+            for (int j = 0; j < num; j++)
+                edges[i + j] = new StreamingEdge(buffer.getInt(), buffer.getInt(), buffer.getLong());
+        }
+    }
+
+    private void readFully(int size) throws IOException {
+        buffer.clear().limit(size);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0)
+                throw new EOFException("The worker closed the connection in the middle of a frame");
+        buffer.flip();
+    }
+
+    long index() {
+        return index;
+    }
+
+    int numOfEdges() {
+        return numOfEdges;
+    }
+
+    StreamingEdge edge(int i) {
+        return edges[i];
+    }
+
+    long lastTimeStamp() {
+        return lastTimeStamp;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
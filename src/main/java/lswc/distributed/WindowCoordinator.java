@@ -0,0 +1,131 @@
+package lswc.distributed;
+
+import lswc.AbstractSlidingWindowConnectivity;
+import lswc.StreamingEdge;
+import lswc.benchmark.WorkloadUtils;
+import lswc.omst.OptimizedMstDTreeImpl;
+import lswc.omst.OptimizedMstSlidingWindowConnectivity;
+import it.unimi.dsi.fastutil.ints.IntIntPair;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Coordinator of the distributed mode, where every worker sends the edges of its partition slide by slide, see WindowWorker
+// The edges of a slide from all the workers are merged in the order of their timestamps and inserted into the engine of the coordinator,
+// such that the window instances are the ones of computeSlidingWindowConnectivity over the whole stream starting at firstTimeStamp
+// Only the spanning forests of the slides of the workers reach the coordinator, and a worker drops the edges of a slide once they are sent,
+// i.e., the non-tree edges of the window are held by no process; with the tree-edge expiry of the OMST engines, the coordinator holds the tree edges of the window
+// The coordinator still holds the spanning forest of the window and the vertices of its engine on one heap, i.e., its memory is O(V) of the whole graph,
+// which is a known limit of this mode: the workers distribute the reading and the filtering of the stream, but not the state of the window
+public class WindowCoordinator {
+    private static final int DEFAULT_BATCH_CAPACITY = 1 << 10;
+
+    private final AbstractSlidingWindowConnectivity engine;
+    private final List<IntIntPair> workload;
+    private final long range, slide, firstTimeStamp;
+
+    public WindowCoordinator(AbstractSlidingWindowConnectivity engine, List<IntIntPair> workload, Duration range, Duration slide, long firstTimeStamp) {
+        this.engine = engine;
+        this.workload = workload;
+        this.range = range.toMillis();
+        this.slide = slide.toMillis();
+        this.firstTimeStamp = firstTimeStamp;
+    }
+
+    // args: port, num of workers, path of the workload, first timestamp of the stream, range and slide in milliseconds
+    // the engine is the OMST with tree-edge expiry, and the num of connected pairs per window instance is printed
+    public static void main(String[] args) {
+        List<IntIntPair> workload = WorkloadUtils.readWorkload(args[2]);
+        Duration range = Duration.ofMillis(Long.parseLong(args[4])), slide = Duration.ofMillis(Long.parseLong(args[5]));
+        AbstractSlidingWindowConnectivity engine = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, new OptimizedMstDTreeImpl(), false, true);
+        List<List<Boolean>> outputStreams = new ArrayList<>();
+        for (int i = 0; i < workload.size(); i++)
+            outputStreams.add(new ArrayList<>());
+
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress(Integer.parseInt(args[0])))) {
+            new WindowCoordinator(engine, workload, range, slide, Long.parseLong(args[3])).run(server, Integer.parseInt(args[1]), outputStreams);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        for (int j = 0, num = outputStreams.isEmpty() ? 0 : outputStreams.get(0).size(); j < num; j++) {
+            int connected = 0;
+            for (List<Boolean> outputStream : outputStreams)
+                if (outputStream.get(j))
+                    connected++;
+            System.out.println(j + "," + connected);
+        }
+    }
+
+    // accepts the given num of workers, and computes the window instances until every worker has sent its last frame
+    public void run(ServerSocketChannel server, int numOfWorkers, List<List<Boolean>> outputStreams) {
+        List<EdgeFrameChannel> workers = new ArrayList<>(numOfWorkers);
+        try {
+            for (int i = 0; i < numOfWorkers; i++) {
+                EdgeFrameChannel worker = new EdgeFrameChannel(server.accept());
+                workers.add(worker);
+                worker.readFrame();
+            }
+
+            StreamingEdge[] batch = new StreamingEdge[DEFAULT_BATCH_CAPACITY];
+            long nextWindow = 0; // the index of the next window instance to compute
+            while (true) {
+                long slideIndex = Long.MAX_VALUE;
+                for (EdgeFrameChannel worker : workers)
+                    if (worker.index() != EdgeFrameChannel.END)
+                        slideIndex = Math.min(slideIndex, worker.index());
+                if (slideIndex == Long.MAX_VALUE) // every worker has sent its last frame
+                    break;
+
+                // the frames of the earlier slides have been inserted, and a later edge exists in this slide
+                for (; nextWindow < slideIndex; nextWindow++)
+                    computeWindow(nextWindow, outputStreams);
+
+                int size = 0;
+                for (EdgeFrameChannel worker : workers) {
+                    if (worker.index() != slideIndex)
+                        continue;
+                    int num = worker.numOfEdges();
+                    if (size + num > batch.length)
+                        batch = Arrays.copyOf(batch, Math.max(size + num, batch.length << 1));
+                    for (int i = 0; i < num; i++)
+                        batch[size++] = worker.edge(i);
+                    worker.readFrame();
+                }
+                Arrays.sort(batch, 0, size, Comparator.comparingLong(streamingEdge -> streamingEdge.timeStamp));
+                engine.insertBatch(batch, 0, size);
+                Arrays.fill(batch, 0, size, null);
+            }
+
+            long lastTimeStamp = Long.MIN_VALUE;
+            for (EdgeFrameChannel worker : workers)
+                lastTimeStamp = Math.max(lastTimeStamp, worker.lastTimeStamp());
+            for (; firstTimeStamp + nextWindow * slide + range <= lastTimeStamp; nextWindow++) // the window instances ending not later than the latest edge
+                computeWindow(nextWindow, outputStreams);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            for (EdgeFrameChannel worker : workers) {
+                try {
+                    worker.close();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    private void computeWindow(long index, List<List<Boolean>> outputStreams) {
+        long startOfNextWindow = firstTimeStamp + (index + 1) * slide;
+        engine.query(workload, outputStreams);
+        engine.evict(startOfNextWindow);
+        if (index > 0) // in the same way as computeSlidingWindowConnectivity
+            engine.manage(startOfNextWindow - slide + range);
+    }
+}
@@ -0,0 +1,98 @@
+package lswc.distributed;
+
+import lswc.EdgeSource;
+import lswc.SpanningForestFilter;
+import lswc.StreamingEdge;
+import lswc.benchmark.BinaryStreamingGraph;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+
+// Worker of the distributed mode, owning the edges whose smaller endpoint is in its partition of the vertices
+// The edges of every slide are filtered by a local spanning forest before they are sent to the coordinator, see WindowCoordinator,
+// such that a worker sends at most the num of vertices of its slide minus one edges per slide
+public class WindowWorker implements Runnable {
+    private static final int DEFAULT_BATCH_CAPACITY = 1 << 10;
+
+    private final SocketAddress coordinator;
+    private final EdgeSource edgeSource;
+    private final int partition, numOfPartitions;
+    private final long firstTimeStamp, range, slide;
+    private final SpanningForestFilter filter;
+
+    public WindowWorker(SocketAddress coordinator, EdgeSource edgeSource, int partition, int numOfPartitions, long firstTimeStamp, Duration range, Duration slide) {
+        this.coordinator = coordinator;
+        this.edgeSource = edgeSource;
+        this.partition = partition;
+        this.numOfPartitions = numOfPartitions;
+        this.firstTimeStamp = firstTimeStamp;
+        this.range = range.toMillis();
+        this.slide = slide.toMillis();
+        this.filter = new SpanningForestFilter();
+    }
+
+    public static int partitionOf(int source, int target, int numOfPartitions) {
+        return Math.floorMod(Integer.hashCode(Math.min(source, target)) * 0x9E3779B9, numOfPartitions);
+    }
+
+    // args: host and port of the coordinator, path of the graph in the binary format, partition, num of partitions,
+    // first timestamp of the stream, range and slide in milliseconds
+    // the graph is streamed from the memory-mapped file, such that a worker holds only the edges of its current slide; a text graph is to be converted first,
+    // see BinaryStreamingGraph.main, because loading it would hold the whole graph in every worker
+    public static void main(String[] args) {
+        String path = args[2];
+        if (!path.endsWith(".bin"))
+            throw new IllegalArgumentException("A worker streams a binary graph, see BinaryStreamingGraph.main for the conversion: " + path);
+        EdgeSource edgeSource = BinaryStreamingGraph.open(path).edgeSource();
+        new WindowWorker(
+                new InetSocketAddress(args[0], Integer.parseInt(args[1])),
+                edgeSource,
+                Integer.parseInt(args[3]),
+                Integer.parseInt(args[4]),
+                Long.parseLong(args[5]),
+                Duration.ofMillis(Long.parseLong(args[6])),
+                Duration.ofMillis(Long.parseLong(args[7]))
+        ).run();
+    }
+
+    @Override
+    public void run() {
+        try (EdgeFrameChannel channel = EdgeFrameChannel.connect(coordinator)) {
+            StreamingEdge[] batch = new StreamingEdge[DEFAULT_BATCH_CAPACITY];
+            int size = 0;
+            long currentSlide = 0, lastTimeStamp = Long.MIN_VALUE;
+
+            while (edgeSource.advance()) {
+                if (partitionOf(edgeSource.source(), edgeSource.target(), numOfPartitions) != partition)
+                    continue;
+                lastTimeStamp = edgeSource.timeStamp();
+                long slideIndex = EdgeFrameChannel.slideIndex(lastTimeStamp, firstTimeStamp, range, slide);
+                if (slideIndex != currentSlide && size > 0) { // only the slides with edges are sent
+                    send(channel, currentSlide, batch, size);
+                    Arrays.fill(batch, 0, size, null);
+                    size = 0;
+                }
+                currentSlide = slideIndex;
+                if (size == batch.length)
+                    batch = Arrays.copyOf(batch, size << 1);
+                batch[size++] = edgeSource.streamingEdge();
+            }
+            if (size > 0)
+                send(channel, currentSlide, batch, size);
+            channel.writeEnd(lastTimeStamp);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void send(EdgeFrameChannel channel, long slideIndex, StreamingEdge[] batch, int size) throws IOException {
+        int num = filter.filter(batch, 0, size);
+        channel.beginFrame(slideIndex, num);
+        for (int i = 0; i < num; i++)
+            channel.putEdge(filter.kept(i));
+        channel.endFrame();
+    }
+}
@@ -7,6 +7,16 @@ public interface MaximumSpanningTree {
 
     Node findRoot(Node u);
 
+    // Label of the root of the tree including u, or ParallelQueryTask.NO_LABEL if u is not in the spanning tree
+    // It does not modify the spanning tree, such that it can be called concurrently in between updates
+    int rootLabel(int u);
+
+    // Fill the labels of the given vertices in the same order, see rootLabel
+    default void rootLabels(int[] vertices, int[] labels) {
+        for (int i = 0; i < vertices.length; i++)
+            labels[i] = rootLabel(vertices[i]);
+    }
+
     // Insert an edge into the spanning tree
     void insertTreeEdge(Node u, Node v, long weight);
 
@@ -1,5 +1,6 @@
 package lswc.mst;
 
+import lswc.ParallelQueryTask;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.openjdk.jol.info.GraphLayout;
 
@@ -22,6 +23,12 @@ public class MstDTreeImpl implements MaximumSpanningTree {
         return TreeUtils.query(nodeU, nodeV);
     }
 
+    @Override
+    public int rootLabel(int u) {
+        Node node = nodeHashMap.get(u);
+        return node == null ? ParallelQueryTask.NO_LABEL : TreeUtils.findRoot(node).val;
+    }
+
     @Override
     public Node getNode(int u) {
         return nodeHashMap.computeIfAbsent(u, k -> new Node(u));
@@ -1,24 +1,45 @@
 package lswc.mst;
 
 import lswc.AbstractSlidingWindowConnectivity;
+import lswc.ParallelQueryTask;
+import lswc.SpanningForestFilter;
 import lswc.StreamingEdge;
+import lswc.WindowStore;
+import lswc.WorkloadLabelSnapshot;
 import it.unimi.dsi.fastutil.ints.IntIntPair;
 
 import java.time.Duration;
-import java.util.ArrayDeque;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 
 // Implementation based on dynamic trees (DTree)
 public class MstSlidingWindowConnectivity extends AbstractSlidingWindowConnectivity {
     private final MaximumSpanningTree mst;
-    private final Queue<StreamingEdge> window;
+    private final WindowStore window;
+    private final SpanningForestFilter filter;
+    private final ForkJoinPool pool; // if not null, the workload is answered in parallel against the frozen spanning tree
+    private final WorkloadLabelSnapshot snapshot; // if not null, the workload is answered by the labels of its vertices
 
     public MstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, MaximumSpanningTree mst) {
+        this(range, slide, workload, mst, null, false);
+    }
+
+    public MstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, MaximumSpanningTree mst, ForkJoinPool pool) {
+        this(range, slide, workload, mst, pool, false);
+    }
+
+    public MstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, MaximumSpanningTree mst, boolean labelSnapshot) {
+        this(range, slide, workload, mst, null, labelSnapshot);
+    }
+
+    private MstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, MaximumSpanningTree mst, ForkJoinPool pool, boolean labelSnapshot) {
         super(range, slide, workload);
         this.mst = mst;
-        this.window = new ArrayDeque<>();
+        this.window = new WindowStore();
+        this.filter = new SpanningForestFilter();
+        this.pool = pool;
+        this.snapshot = labelSnapshot ? new WorkloadLabelSnapshot(workload) : null;
     }
 
     @Override
@@ -42,16 +63,22 @@ public class MstSlidingWindowConnectivity extends AbstractSlidingWindowConnectiv
         }
     }
 
+    // the dropped edges are neither inserted nor kept in the window, because they never become tree edges before they expire
     @Override
-    public void evict(long lessThan) {
-        while (!window.isEmpty() && window.peek().timeStamp < lessThan) {
-            StreamingEdge streamingEdge = window.poll();
+    public void insertBatch(StreamingEdge[] streamingEdges, int from, int to) {
+        int num = filter.filter(streamingEdges, from, to);
+        for (int i = 0; i < num; i++)
+            insert(filter.kept(i));
+    }
 
-            if (mst.isTreeEdge(streamingEdge.source, streamingEdge.target))
-                mst.deleteTreeEdge(streamingEdge.source, streamingEdge.target);
+    @Override
+    public void evict(long lessThan) {
+        window.evictBefore(lessThan, (source, target) -> {
+            if (mst.isTreeEdge(source, target))
+                mst.deleteTreeEdge(source, target);
             else
-                mst.deleteNonTreeEdge(streamingEdge.source, streamingEdge.target);
-        }
+                mst.deleteNonTreeEdge(source, target);
+        });
     }
 
     @Override
@@ -61,6 +88,15 @@ public class MstSlidingWindowConnectivity extends AbstractSlidingWindowConnectiv
 
     @Override
     public void query(List<IntIntPair> queries, List<List<Boolean>> outputStreams) {
+        if (snapshot != null && snapshot.covers(queries)) { // the labels of the vertices of the workload are computed once per slide
+            mst.rootLabels(snapshot.vertices(), snapshot.labels());
+            snapshot.query(outputStreams);
+            return;
+        }
+        if (pool != null) { // the root labels are read without re-rooting, such that the spanning tree is not modified
+            ParallelQueryTask.query(pool, queries, outputStreams, mst::rootLabel);
+            return;
+        }
         for (int i = 0; i < queries.size(); i++) {
             IntIntPair intIntPair = queries.get(i);
             outputStreams.get(i).add(mst.query(intIntPair.firstInt(), intIntPair.secondInt()));
@@ -0,0 +1,44 @@
+package lswc.omst;
+
+// Maximum spanning forest built on node objects, whose insertion of an edge is composed of the node-based operations below
+public interface NodeMaximumSpanningTree extends OptimizedMaximumSpanningTree {
+    OptimizedNode findRoot(OptimizedNode u);
+
+    OptimizedNode getNode(int u);
+
+    // Insert an edge into the spanning tree
+    void insertTreeEdge(OptimizedNode u, OptimizedNode v, long weight);
+
+    void replace(OptimizedTreeEdge minimumEdge, OptimizedNode newEdgeSource, OptimizedNode newEdgeTarget, long newEdgeWeight);
+
+    void reshape(OptimizedNode u, OptimizedNode v, long weight);
+
+    // Find the minimum edge from the following two paths:
+    // Path u to u's root
+    // Path v to v's root
+    OptimizedTreeEdge findMinimum(OptimizedNode u, OptimizedNode v);
+
+    // Process the insertion of the edge (u, v) with the given weight into the maximum spanning tree
+    @Override
+    default void insertEdge(int u, int v, long weight) {
+        OptimizedNode nodeU = getNode(u), nodeV = getNode(v);
+
+        // the case of a re-arriving tree edge, whose weight is refreshed in place, see deleteEdge(u, v, lessThan)
+        OptimizedNode child = nodeU.parent == nodeV ? nodeU : nodeV.parent == nodeU ? nodeV : null;
+        if (child != null) {
+            child.treeEdgeWeight = Math.max(child.treeEdgeWeight, weight);
+            return;
+        }
+
+        if (findRoot(nodeU) != findRoot(nodeV)) // the case of inserting a tree edge
+            insertTreeEdge(nodeU, nodeV, weight);
+        else { // the case of inserting a non-tree edge
+            OptimizedTreeEdge minimumEdge = findMinimum(nodeU, nodeV);
+
+            if (minimumEdge.weight < weight) // the weight of the new edge is larger than the weight of the minimum one in the mst
+                replace(minimumEdge, nodeU, nodeV, weight);
+            else
+                reshape(nodeU, nodeV, weight);
+        }
+    }
+}
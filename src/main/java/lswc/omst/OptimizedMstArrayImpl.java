@@ -0,0 +1,409 @@
+package lswc.omst;
+
+import lswc.HashVertexDictionary;
+import lswc.ParallelQueryTask;
+import lswc.VertexDictionary;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.Arrays;
+
+// Array-backed (struct-of-arrays) implementation of the optimized dynamic trees
+// parent, size and treeEdgeWeight of every vertex are kept in parallel primitive arrays indexed by the slot given by a vertex dictionary, such that no node objects are allocated
+// Slots of vertices that leave the window are recycled by the dictionary
+// With dTree set, the d-tree techniques are applied (re-rooting and reshaping); otherwise, it behaves as the simple tree (s-tree)
+public class OptimizedMstArrayImpl implements OptimizedMaximumSpanningTree {
+    static final int NIL = VertexDictionary.NO_SLOT;
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+
+    private final boolean dTree;
+    private final VertexDictionary dictionary; // map a vertex to its slot
+
+    private int[] parent;
+    private int[] size;
+    private long[] treeEdgeWeight;
+    private int numOfSlots; // slots in [0, numOfSlots) are initialized
+
+    // roots memoised while labelling, valid for the slots with memoEpoch equal to epoch; allocated at the first labelling
+    private int[] memoRoot, memoEpoch;
+    private int epoch;
+
+    // the minimum edge found by findLCA, i.e., the edge (minimumChild, parent[minimumChild])
+    private int minimumChild;
+    private long minimumWeight;
+
+    public OptimizedMstArrayImpl(boolean dTree) {
+        this(dTree, DEFAULT_CAPACITY);
+    }
+
+    public OptimizedMstArrayImpl(boolean dTree, int expectedNumOfVertices) {
+        this(dTree, new HashVertexDictionary(expectedNumOfVertices), expectedNumOfVertices);
+    }
+
+    public OptimizedMstArrayImpl(boolean dTree, VertexDictionary dictionary) {
+        this(dTree, dictionary, DEFAULT_CAPACITY);
+    }
+
+    private OptimizedMstArrayImpl(boolean dTree, VertexDictionary dictionary, int expectedNumOfVertices) {
+        this.dTree = dTree;
+        this.dictionary = dictionary;
+        int capacity = Math.max(expectedNumOfVertices, 1);
+        this.parent = new int[capacity];
+        this.size = new int[capacity];
+        this.treeEdgeWeight = new long[capacity];
+        this.numOfSlots = 0;
+    }
+
+    @Override
+    public void insertEdge(int u, int v, long weight) {
+        int n_u = acquire(u), n_v = acquire(v);
+
+        if (parent[n_u] == n_v || parent[n_v] == n_u) { // the case of a re-arriving tree edge, whose weight is refreshed in place
+            int child = parent[n_u] == n_v ? n_u : n_v;
+            treeEdgeWeight[child] = Math.max(treeEdgeWeight[child], weight);
+        } else if (findRoot(n_u) != findRoot(n_v)) // the case of inserting a tree edge
+            insert(n_u, n_v, weight);
+        else { // the case of inserting a non-tree edge
+            findLCA(n_u, n_v);
+
+            if (minimumWeight < weight) { // the weight of the new edge is larger than the weight of the minimum one in the mst
+                unlink(minimumChild);
+                insert(n_u, n_v, weight);
+            } else if (dTree)
+                reshape(n_u, n_v, weight);
+        }
+    }
+
+    @Override
+    public void deleteEdge(int u, int v) {
+        // u and v hold references for the expired edge, such that both have slots
+        int n_u = dictionary.slotOf(u), n_v = dictionary.slotOf(v);
+        if (parent[n_u] == n_v)
+            unlink(n_u);
+        else if (parent[n_v] == n_u)
+            unlink(n_v);
+        release(u);
+        release(v);
+    }
+
+    @Override
+    public void deleteEdge(int u, int v, long lessThan) {
+        int n_u = dictionary.slotOf(u), n_v = dictionary.slotOf(v);
+        if (parent[n_u] == n_v && treeEdgeWeight[n_u] < lessThan)
+            unlink(n_u);
+        else if (parent[n_v] == n_u && treeEdgeWeight[n_v] < lessThan)
+            unlink(n_v);
+        release(u);
+        release(v);
+    }
+
+    @Override
+    public boolean query(int u, int v) {
+        int n_u = dictionary.slotOf(u), n_v = dictionary.slotOf(v);
+
+        if (n_u == NIL || n_v == NIL)
+            return false;
+
+        return dTree ? queryWithReRooting(n_u, n_v) : findRoot(n_u) == findRoot(n_v);
+    }
+
+    // the slot of the root is the label
+    @Override
+    public int rootLabel(int u) {
+        int n_u = dictionary.slotOf(u);
+        return n_u == NIL ? ParallelQueryTask.NO_LABEL : findRoot(n_u);
+    }
+
+    // the root walks are shared, i.e., a walk stops at the first slot whose root is already known in this labelling
+    @Override
+    public void rootLabels(int[] vertices, int[] labels) {
+        if (memoRoot == null || memoRoot.length < parent.length) {
+            memoRoot = new int[parent.length];
+            memoEpoch = new int[parent.length];
+        }
+        epoch++;
+
+        for (int i = 0; i < vertices.length; i++) {
+            int n = dictionary.slotOf(vertices[i]);
+            if (n == NIL) {
+                labels[i] = ParallelQueryTask.NO_LABEL;
+                continue;
+            }
+
+            int c = n;
+            while (memoEpoch[c] != epoch && parent[c] != NIL)
+                c = parent[c];
+            int root = memoEpoch[c] == epoch ? memoRoot[c] : c;
+
+            // memoise the root for the slots in the walk
+            for (c = n; memoEpoch[c] != epoch; c = parent[c]) {
+                memoEpoch[c] = epoch;
+                memoRoot[c] = root;
+                if (parent[c] == NIL)
+                    break;
+            }
+            labels[i] = root;
+        }
+    }
+
+    @Override
+    public void deleteTreeEdge(int u, int v) {
+        int n_u = dictionary.slotOf(u), n_v = dictionary.slotOf(v);
+        if (!(n_u == NIL || n_v == NIL))
+            unlink(parent[n_u] == n_v ? n_u : n_v);
+    }
+
+    @Override
+    public boolean isTreeEdge(int u, int v) {
+        int n_u = dictionary.slotOf(u), n_v = dictionary.slotOf(v);
+        if (!(n_u == NIL || n_v == NIL))
+            return parent[n_u] == n_v || parent[n_v] == n_u;
+        return false;
+    }
+
+    @Override
+    public long treeEdgeWeight(int u, int v) {
+        int n_u = dictionary.slotOf(u), n_v = dictionary.slotOf(v);
+        if (!(n_u == NIL || n_v == NIL)) {
+            if (parent[n_u] == n_v)
+                return treeEdgeWeight[n_u];
+            if (parent[n_v] == n_u)
+                return treeEdgeWeight[n_v];
+        }
+        return NOT_A_TREE_EDGE;
+    }
+
+    @Override
+    public long minimumOnPath(int u, int v) {
+        int n_u = dictionary.slotOf(u), n_v = dictionary.slotOf(v);
+        if (n_u == NIL || n_v == NIL)
+            return NOT_CONNECTED;
+
+        long minimum = Long.MAX_VALUE;
+        int depth1 = findDepth(n_u), depth2 = findDepth(n_v);
+        for (; depth1 > depth2; depth1--, n_u = parent[n_u])
+            minimum = Math.min(minimum, treeEdgeWeight[n_u]);
+        for (; depth2 > depth1; depth2--, n_v = parent[n_v])
+            minimum = Math.min(minimum, treeEdgeWeight[n_v]);
+        while (n_u != n_v) {
+            if (parent[n_u] == NIL) // two roots
+                return NOT_CONNECTED;
+            minimum = Math.min(minimum, Math.min(treeEdgeWeight[n_u], treeEdgeWeight[n_v]));
+            n_u = parent[n_u];
+            n_v = parent[n_v];
+        }
+        return minimum;
+    }
+
+    @Override
+    public long memoryConsumption() {
+        if (memoRoot == null)
+            return GraphLayout.parseInstance(dictionary, parent, size, treeEdgeWeight).totalSize();
+        return GraphLayout.parseInstance(dictionary, parent, size, treeEdgeWeight, memoRoot, memoEpoch).totalSize();
+    }
+
+    private int acquire(int u) {
+        int slot = dictionary.acquire(u);
+        if (slot >= numOfSlots) {
+            if (slot >= parent.length)
+                grow(slot + 1);
+            for (int i = numOfSlots; i <= slot; i++)
+                resetSlot(i);
+            numOfSlots = slot + 1;
+        }
+        return slot;
+    }
+
+    // a vertex leaving the window has neither a parent nor a child, such that its slot can be reset for the next vertex
+    private void release(int u) {
+        int slot = dictionary.release(u);
+        if (slot != NIL)
+            resetSlot(slot);
+    }
+
+    private void resetSlot(int slot) {
+        parent[slot] = NIL;
+        size[slot] = 1;
+        treeEdgeWeight[slot] = Long.MAX_VALUE; // default weight
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(parent.length << 1, minCapacity);
+        parent = Arrays.copyOf(parent, capacity);
+        size = Arrays.copyOf(size, capacity);
+        treeEdgeWeight = Arrays.copyOf(treeEdgeWeight, capacity);
+    }
+
+    private int findRoot(int n) {
+        while (parent[n] != NIL)
+            n = parent[n];
+        return n;
+    }
+
+    private int findDepth(int n) {
+        int depth = 0;
+        while (parent[n] != NIL) {
+            n = parent[n];
+            depth++;
+        }
+        return depth;
+    }
+
+    private int reRoot(int n_w) {
+        if (parent[n_w] == NIL)
+            return n_w;
+
+        int ch = n_w;
+
+        int cur = parent[n_w];
+        long chWeight = treeEdgeWeight[n_w];
+
+        parent[n_w] = NIL;
+        treeEdgeWeight[n_w] = -1L;
+
+        while (cur != NIL) {
+            int curParent = parent[cur];
+            long curWeight = treeEdgeWeight[cur];
+
+            parent[cur] = ch;
+            treeEdgeWeight[cur] = chWeight;
+
+            ch = cur;
+            chWeight = curWeight;
+            cur = curParent;
+        }
+
+        while (parent[ch] != NIL) {
+            size[ch] -= size[parent[ch]];
+            size[parent[ch]] += size[ch];
+            ch = parent[ch];
+        }
+
+        return n_w;
+    }
+
+    private void unlink(int n_v) {
+        // n_v is a non-root node
+        int c = n_v;
+        while (parent[c] != NIL) {
+            c = parent[c];
+            size[c] -= size[n_v];
+        }
+        parent[n_v] = NIL;
+        treeEdgeWeight[n_v] = -1L;
+    }
+
+    private void link(int n_u, int r_u, int n_v, long edgeWeight) {
+        parent[n_v] = n_u;
+        treeEdgeWeight[n_v] = edgeWeight;
+
+        int c = n_u;
+        int newRoot = NIL;
+        while (c != NIL) {
+            size[c] += size[n_v];
+
+            if (dTree && size[c] > (size[r_u] + size[n_v]) / 2 && newRoot == NIL && parent[c] != NIL)
+                newRoot = c;
+
+            c = parent[c];
+        }
+        if (newRoot != NIL)
+            reRoot(newRoot);
+    }
+
+    // assuming u and v are not connected, i.e., the case of inserting tree edge
+    private void insert(int n_u, int n_v, long edgeWeight) {
+        int r_u = findRoot(n_u), r_v = findRoot(n_v);
+        // T1 includes v, T2 includes u
+        if (size[r_v] < size[r_u])
+            link(n_u, r_u, reRoot(n_v), edgeWeight);
+        else
+            link(n_v, r_v, reRoot(n_u), edgeWeight);
+    }
+
+    private boolean queryWithReRooting(int n_u, int n_v) {
+        int d_u = NIL;
+        while (parent[n_u] != NIL) {
+            d_u = n_u;
+            n_u = parent[n_u];
+        }
+
+        int d_v = NIL;
+        while (parent[n_v] != NIL) {
+            d_v = n_v;
+            n_v = parent[n_v];
+        }
+
+        boolean ret = n_u == n_v;
+
+        if (d_u != NIL && size[d_u] > size[n_u] / 2)
+            reRoot(d_u);
+
+        if (d_v != NIL && size[d_v] > size[n_v] / 2)
+            reRoot(d_v);
+
+        return ret;
+    }
+
+    private void reshape(int n_u, int n_v, long weight) {
+        int dist_u = findDepth(n_u), dist_v = findDepth(n_v);
+        int r = findRoot(n_u);
+
+        if (Math.abs(dist_u - dist_v) < 2)   // No changes to BFS spanning tree
+            return;
+
+        int longNode, shortNode;
+        if (dist_u < dist_v) {
+            longNode = n_v;
+            shortNode = n_u;
+        } else {
+            longNode = n_u;
+            shortNode = n_v;
+        }
+
+        int delta = Math.abs(dist_u - dist_v) - 2;
+        int c = longNode;
+
+        for (int i = 1; i < delta; i++)
+            c = parent[c];
+
+        unlink(c);
+        link(shortNode, r, reRoot(longNode), weight);
+    }
+
+    private void compareEdgeWeight(int ch) {
+        if (treeEdgeWeight[ch] < minimumWeight) {
+            minimumWeight = treeEdgeWeight[ch];
+            minimumChild = ch;
+        }
+    }
+
+    // Method to find LCA without preprocessing, and record the minimum edge in minimumChild and minimumWeight
+    private void findLCA(int n1, int n2) {
+        minimumWeight = Long.MAX_VALUE;
+        minimumChild = NIL;
+        // Find the depths of the two nodes
+        int depth1 = findDepth(n1);
+        int depth2 = findDepth(n2);
+
+        // Bring n1 and n2 to the same depth
+        while (depth1 > depth2) {
+            compareEdgeWeight(n1);
+            n1 = parent[n1];
+            depth1--;
+        }
+        while (depth2 > depth1) {
+            compareEdgeWeight(n2);
+            n2 = parent[n2];
+            depth2--;
+        }
+
+        // Move both nodes up until they meet
+        while (n1 != n2) {
+            compareEdgeWeight(n1);
+            n1 = parent[n1];
+
+            compareEdgeWeight(n2);
+            n2 = parent[n2];
+        }
+    }
+}
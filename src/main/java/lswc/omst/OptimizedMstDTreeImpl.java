@@ -1,13 +1,14 @@
 package lswc.omst;
 
 
+import lswc.ParallelQueryTask;
 import it.unimi.dsi.fastutil.Pair;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.openjdk.jol.info.GraphLayout;
 
 // Implementation of optimized dynamic trees without the need of maintaining non-tree edges and children
 // The implementation has the techniques: (1) re-rooting; (2) maintaining distance to root
-public class OptimizedMstDTreeImpl implements OptimizedMaximumSpanningTree {
+public class OptimizedMstDTreeImpl implements NodeMaximumSpanningTree {
     private final Int2ObjectOpenHashMap<OptimizedNode> nodeHashMap;
     private final OptimizedTreeEdge weightedSpanningTreeEdge;
 
@@ -32,6 +33,12 @@ public class OptimizedMstDTreeImpl implements OptimizedMaximumSpanningTree {
         return TreeUtils.findRoot(u);
     }
 
+    @Override
+    public int rootLabel(int u) {
+        OptimizedNode node = nodeHashMap.get(u);
+        return node == null ? ParallelQueryTask.NO_LABEL : TreeUtils.findRoot(node).val;
+    }
+
     @Override
     public OptimizedNode getNode(int u) {
         return nodeHashMap.computeIfAbsent(u, k -> new OptimizedNode(u));
@@ -72,6 +79,26 @@ public class OptimizedMstDTreeImpl implements OptimizedMaximumSpanningTree {
         return false;
     }
 
+    @Override
+    public long treeEdgeWeight(int u, int v) {
+        OptimizedNode nodeU = nodeHashMap.get(u), nodeV = nodeHashMap.get(v);
+        if (!(nodeU == null || nodeV == null)) {
+            if (nodeU.parent == nodeV)
+                return nodeU.treeEdgeWeight;
+            if (nodeV.parent == nodeU)
+                return nodeV.treeEdgeWeight;
+        }
+        return NOT_A_TREE_EDGE;
+    }
+
+    @Override
+    public long minimumOnPath(int u, int v) {
+        OptimizedNode nodeU = nodeHashMap.get(u), nodeV = nodeHashMap.get(v);
+        if (nodeU == null || nodeV == null)
+            return NOT_CONNECTED;
+        return TreeUtils.findMinimumOnPath(nodeU, nodeV);
+    }
+
     @Override
     public OptimizedTreeEdge findMinimum(OptimizedNode u, OptimizedNode v) {
         TreeUtils.findLCA(u, v, weightedSpanningTreeEdge);
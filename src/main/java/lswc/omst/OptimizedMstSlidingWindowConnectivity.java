@@ -1,55 +1,104 @@
 package lswc.omst;
 
 import lswc.AbstractSlidingWindowConnectivity;
+import lswc.Checkpointable;
+import lswc.ConcurrentLabelView;
+import lswc.OmstWindow;
+import lswc.ParallelQueryTask;
 import lswc.StreamingEdge;
+import lswc.WindowCheckpoint;
 
 import it.unimi.dsi.fastutil.ints.IntIntPair;
 
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.ArrayDeque;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 
 // Optimized implementation based on dynamic trees (DTree)
-public class OptimizedMstSlidingWindowConnectivity extends AbstractSlidingWindowConnectivity {
+public class OptimizedMstSlidingWindowConnectivity extends AbstractSlidingWindowConnectivity implements Checkpointable {
     private final OptimizedMaximumSpanningTree mst;
-    private final Queue<StreamingEdge> window;
+    private final OmstWindow window;
+    private final ForkJoinPool pool; // if not null, the workload is answered in parallel against the frozen spanning tree
 
     public OptimizedMstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OptimizedMaximumSpanningTree mst) {
+        this(range, slide, workload, mst, null, false, false);
+    }
+
+    public OptimizedMstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OptimizedMaximumSpanningTree mst, ForkJoinPool pool) {
+        this(range, slide, workload, mst, pool, false, false);
+    }
+
+    public OptimizedMstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OptimizedMaximumSpanningTree mst, boolean labelSnapshot) {
+        this(range, slide, workload, mst, null, labelSnapshot, false);
+    }
+
+    public OptimizedMstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OptimizedMaximumSpanningTree mst, boolean labelSnapshot, boolean treeEdgeExpiry) {
+        this(range, slide, workload, mst, null, labelSnapshot, treeEdgeExpiry);
+    }
+
+    private OptimizedMstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OptimizedMaximumSpanningTree mst, ForkJoinPool pool, boolean labelSnapshot, boolean treeEdgeExpiry) {
         super(range, slide, workload);
         this.mst = mst;
-        this.window = new ArrayDeque<>();
+        this.window = new OmstWindow(mst, super.range, workload, labelSnapshot, treeEdgeExpiry);
+        this.pool = pool;
+    }
+
+    // see OmstWindow.addRange
+    public void addRange(Duration range, List<List<Boolean>> outputStreams) {
+        window.addRange(range, outputStreams);
+    }
+
+    // see OmstWindow.concurrentView
+    public ConcurrentLabelView concurrentView() {
+        return window.concurrentView();
+    }
+
+    // see OmstWindow.query
+    public boolean query(int source, int target, Duration range) {
+        return window.query(source, target, range);
     }
 
     @Override
     public void insert(StreamingEdge streamingEdge) {
-        window.add(streamingEdge);
+        window.insert(streamingEdge);
+    }
 
-        // process the edge insertion
-        int s = streamingEdge.source, t = streamingEdge.target;
-        OptimizedNode nodeS = mst.getNode(s), nodeT = mst.getNode(t);
+    @Override
+    public void insertBatch(StreamingEdge[] streamingEdges, int from, int to) {
+        window.insertBatch(streamingEdges, from, to);
+    }
 
-        if (mst.findRoot(nodeS) != mst.findRoot(nodeT)) // the case of inserting a tree edge
-            mst.insertTreeEdge(nodeS, nodeT, streamingEdge.timeStamp);
-        else { // the case of inserting a non-tree edge
-            OptimizedTreeEdge minimumEdge = mst.findMinimum(nodeS, nodeT);
+    @Override
+    public void checkpoint(Path path) {
+        WindowCheckpoint.Writer writer = checkpointWriter();
+        writeState(writer);
+        writer.write(path);
+    }
 
-            if (minimumEdge.weight < streamingEdge.timeStamp) // the weight of the new edge is larger than the weight of the minimum one in the mst
-                mst.replace(minimumEdge, nodeS, nodeT, streamingEdge.timeStamp);
-            else
-                mst.reshape(nodeS, nodeT, streamingEdge.timeStamp);
-        }
+    @Override
+    public void restore(Path path) {
+        restoreState(restoreCursor(path));
+    }
+
+    // the state of the engine without the slide cursor, e.g., of the coordinator of ShardedOmstSlidingWindowConnectivity
+    void writeState(WindowCheckpoint.Writer writer) {
+        window.writeCheckpoint(writer);
     }
 
+    void restoreState(WindowCheckpoint checkpoint) {
+        window.restoreCheckpoint(checkpoint);
+    }
 
     @Override
     public void evict(long lessThan) {
-        while (!window.isEmpty() && window.peek().timeStamp < lessThan) {
-            StreamingEdge streamingEdge = window.poll();
-            if (mst.isTreeEdge(streamingEdge.source, streamingEdge.target))
-                mst.deleteTreeEdge(streamingEdge.source, streamingEdge.target);
-        }
+        window.evict(lessThan);
+    }
+
+    // see OmstWindow.connectedUntil
+    public long connectedUntil(int source, int target) {
+        return window.connectedUntil(source, target);
     }
 
     @Override
@@ -59,12 +108,24 @@ public class OptimizedMstSlidingWindowConnectivity extends AbstractSlidingWindow
 
     @Override
     public void query(List<IntIntPair> queries, List<List<Boolean>> outputStreams) {
+        if (window.query(queries, outputStreams))
+            return;
+        if (pool != null) { // the root labels are read without re-rooting, such that the spanning tree is not modified
+            ParallelQueryTask.query(pool, queries, outputStreams, mst::rootLabel);
+            return;
+        }
         for (int i = 0; i < queries.size(); i++) {
             IntIntPair intIntPair = queries.get(i);
             outputStreams.get(i).add(mst.query(intIntPair.firstInt(), intIntPair.secondInt()));
         }
     }
 
+    @Override
+    protected void addDisconnected(List<List<Boolean>> outputStreams, int numOfWindows) {
+        super.addDisconnected(outputStreams, numOfWindows);
+        window.addDisconnected(numOfWindows);
+    }
+
     @Override
     public long memoryConsumption() {
         return mst.memoryConsumption();
@@ -0,0 +1,129 @@
+package lswc.omst;
+
+import lswc.AbstractSlidingWindowConnectivity;
+import lswc.Checkpointable;
+import lswc.SpanningForestFilter;
+import lswc.StreamingEdge;
+import lswc.WindowCheckpoint;
+
+import it.unimi.dsi.fastutil.ints.IntIntPair;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Multi-core ingestion for the optimized engine, where the edges of a slide are split into shards that are filtered in parallel
+// Every shard is a range of consecutive edges of the slide, filtered by its own SpanningForestFilter; an edge dropped by its shard closes a cycle of newer edges of the shard,
+// such that it never becomes a tree edge before it expires
+// The survivors of all the shards, i.e., at most the num of vertices of a shard minus one per shard, are inserted into the coordinator,
+// which is the single spanning forest of the window answering the queries
+// Vertices are not partitioned: every arriving edge is the newest one and enters the forest, such that a forest over shard components would receive nearly every edge
+public class ShardedOmstSlidingWindowConnectivity extends AbstractSlidingWindowConnectivity implements Checkpointable {
+    private static final int MIN_SHARD_SIZE = 1 << 12; // smaller batches are filtered by the coordinator only
+
+    private final OptimizedMstSlidingWindowConnectivity coordinator;
+    private final ForkJoinPool pool;
+    private final SpanningForestFilter[] filters;
+    private StreamingEdge[] survivors;
+
+    // the pool is also used for answering the workload in parallel, see OptimizedMstSlidingWindowConnectivity
+    public ShardedOmstSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OptimizedMaximumSpanningTree mst, ForkJoinPool pool, int numOfShards) {
+        super(range, slide, workload);
+        this.coordinator = new OptimizedMstSlidingWindowConnectivity(range, slide, workload, mst, pool);
+        this.pool = pool;
+        this.filters = new SpanningForestFilter[numOfShards];
+        for (int i = 0; i < numOfShards; i++)
+            filters[i] = new SpanningForestFilter();
+        this.survivors = new StreamingEdge[MIN_SHARD_SIZE];
+    }
+
+    @Override
+    public void insert(StreamingEdge streamingEdge) {
+        coordinator.insert(streamingEdge);
+    }
+
+    @Override
+    public void insertBatch(StreamingEdge[] streamingEdges, int from, int to) {
+        int numOfShards = Math.min(filters.length, (to - from) / MIN_SHARD_SIZE);
+        if (numOfShards < 2) {
+            coordinator.insertBatch(streamingEdges, from, to);
+            return;
+        }
+
+        List<Callable<Integer>> shards = new ArrayList<>(numOfShards);
+        for (int i = 0; i < numOfShards; i++) {
+            SpanningForestFilter filter = filters[i];
+            int start = from + (int) ((long) (to - from) * i / numOfShards), end = from + (int) ((long) (to - from) * (i + 1) / numOfShards);
+            shards.add(() -> filter.filter(streamingEdges, start, end));
+        }
+
+        int num = 0;
+        try {
+            List<Future<Integer>> numOfKept = pool.invokeAll(shards);
+            for (int i = 0; i < numOfShards; i++) { // the shards are in the order of their timestamps, and so are their kept edges
+                int kept = numOfKept.get(i).get();
+                if (num + kept > survivors.length)
+                    survivors = Arrays.copyOf(survivors, Math.max(num + kept, survivors.length << 1));
+                for (int j = 0; j < kept; j++)
+                    survivors[num++] = filters[i].kept(j);
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        coordinator.insertBatch(survivors, 0, num); // the cycles across the shards are filtered by the coordinator
+        Arrays.fill(survivors, 0, num, null);
+    }
+
+    @Override
+    public void evict(long lessThan) {
+        coordinator.evict(lessThan);
+    }
+
+    @Override
+    public void restart(long startOfWindow) {
+        coordinator.restart(startOfWindow);
+    }
+
+    // the slide cursor is the one of this engine, and the spanning forest is the one of the coordinator
+    @Override
+    public void checkpoint(Path path) {
+        WindowCheckpoint.Writer writer = checkpointWriter();
+        coordinator.writeState(writer);
+        writer.write(path);
+    }
+
+    @Override
+    public void restore(Path path) {
+        coordinator.restoreState(restoreCursor(path));
+    }
+
+    @Override
+    public boolean query(int source, int target) {
+        return coordinator.query(source, target);
+    }
+
+    @Override
+    public void query(List<IntIntPair> queries, List<List<Boolean>> outputStreams) {
+        coordinator.query(queries, outputStreams);
+    }
+
+    @Override
+    public long memoryConsumption() {
+        return coordinator.memoryConsumption();
+    }
+
+    @Override
+    public void manage(long timeStamp) {
+        coordinator.manage(timeStamp);
+    }
+}
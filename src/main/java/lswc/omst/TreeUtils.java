@@ -92,6 +92,33 @@ public class TreeUtils {
         }
     }
 
+    // Minimum weight on the path between n1 and n2 in the same way as findLCA, or OptimizedMaximumSpanningTree.NOT_CONNECTED if they are in different trees
+    static long findMinimumOnPath(OptimizedNode n1, OptimizedNode n2) {
+        long minimum = Long.MAX_VALUE;
+        int depth1 = findDepth(n1);
+        int depth2 = findDepth(n2);
+
+        while (depth1 > depth2) {
+            minimum = Math.min(minimum, n1.treeEdgeWeight);
+            n1 = n1.parent;
+            depth1--;
+        }
+        while (depth2 > depth1) {
+            minimum = Math.min(minimum, n2.treeEdgeWeight);
+            n2 = n2.parent;
+            depth2--;
+        }
+
+        while (n1 != n2) {
+            if (n1.parent == null) // two roots
+                return OptimizedMaximumSpanningTree.NOT_CONNECTED;
+            minimum = Math.min(minimum, Math.min(n1.treeEdgeWeight, n2.treeEdgeWeight));
+            n1 = n1.parent;
+            n2 = n2.parent;
+        }
+        return minimum;
+    }
+
     // Method to find LCA without preprocessing
     static void findLCA(OptimizedNode n1, OptimizedNode n2, OptimizedTreeEdge minimumEdge) {
         minimumEdge.weight = Long.MAX_VALUE;
@@ -0,0 +1,382 @@
+package lswc.omstlct;
+
+import lswc.HashVertexDictionary;
+import lswc.ParallelQueryTask;
+import lswc.VertexDictionary;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.Arrays;
+
+// Implementation of the OMST LC-Tree, where every tree edge is represented by an edge-node carrying the weight of the edge
+// Vertex nodes carry no weight, such that re-rooting (evert) is only a lazily propagated reversal, i.e., O(log n) amortized, instead of shifting the weights along the path
+// Nodes are kept in primitive arrays: the vertex in slot s is node 2s, and the edge with index k is node 2k+1
+public class EdgeNodeOmstLctImpl implements OmstLct {
+    private static final int NIL = VertexDictionary.NO_SLOT;
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+
+    private final VertexDictionary dictionary;
+    private int numOfVertexSlots; // vertex slots in [0, numOfVertexSlots) are initialized
+
+    private final Long2IntOpenHashMap treeEdges; // map the pair of vertex nodes of a tree edge to its edge index
+    private final IntArrayList freeEdges; // recycled edge indices
+    private int numOfEdges; // edge indices in [0, numOfEdges) have been assigned
+    private int[] edgeSource, edgeTarget; // vertex nodes of each edge index
+
+    // splay trees in the parent-pointer representation: the parent of the root of a splay tree is its path parent
+    private int[] left, right, parent;
+    private int[] min; // node with the minimum weight in the splay subtree
+    private long[] weight;
+    private boolean[] revert;
+
+    private final IntArrayList stack; // reused for pushing down the reversals before splaying
+
+    public EdgeNodeOmstLctImpl() {
+        this(new HashVertexDictionary());
+    }
+
+    public EdgeNodeOmstLctImpl(VertexDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.numOfVertexSlots = 0;
+
+        this.treeEdges = new Long2IntOpenHashMap();
+        this.treeEdges.defaultReturnValue(NIL);
+        this.freeEdges = new IntArrayList();
+        this.numOfEdges = 0;
+        this.edgeSource = new int[DEFAULT_CAPACITY];
+        this.edgeTarget = new int[DEFAULT_CAPACITY];
+
+        this.left = new int[DEFAULT_CAPACITY];
+        this.right = new int[DEFAULT_CAPACITY];
+        this.parent = new int[DEFAULT_CAPACITY];
+        this.min = new int[DEFAULT_CAPACITY];
+        this.weight = new long[DEFAULT_CAPACITY];
+        this.revert = new boolean[DEFAULT_CAPACITY];
+
+        this.stack = new IntArrayList();
+    }
+
+    @Override
+    public void insertEdge(int u, int v, long w) {
+        int s = vertexNode(acquire(u)), t = vertexNode(acquire(v));
+
+        int k = treeEdges.get(key(s, t));
+        if (k != NIL) { // the case of a re-arriving tree edge, whose weight is refreshed by a point update
+            int e = edgeNode(k);
+            if (weight[e] < w) {
+                access(e); // e is the root of its splay tree, such that only the aggregate of e changes
+                weight[e] = w;
+                pull(e);
+            }
+            return;
+        }
+
+        makeRoot(s);
+        if (findRoot(t) != s) { // the case of inserting a tree edge
+            linkEdge(s, t, w);
+        } else {
+            // after findRoot, s is the root of the splay tree representing exactly the path (s, ..., t)
+            int minimumEdge = min[s];
+
+            if (weight[minimumEdge] < w) {
+                cutEdge(edgeIndex(minimumEdge));
+                linkEdge(s, t, w);
+            }
+        }
+    }
+
+    @Override
+    public void deleteEdge(int u, int v) {
+        // u and v hold references for the expired edge, such that both have slots
+        int k = treeEdges.get(key(vertexNode(dictionary.slotOf(u)), vertexNode(dictionary.slotOf(v))));
+        if (k != NIL)
+            cutEdge(k);
+        release(u);
+        release(v);
+    }
+
+    @Override
+    public void deleteEdge(int u, int v, long lessThan) {
+        int k = treeEdges.get(key(vertexNode(dictionary.slotOf(u)), vertexNode(dictionary.slotOf(v))));
+        if (k != NIL && weight[edgeNode(k)] < lessThan)
+            cutEdge(k);
+        release(u);
+        release(v);
+    }
+
+    @Override
+    public boolean query(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+
+        if (s == NIL || t == NIL)
+            return false;
+
+        return findRoot(vertexNode(s)) == findRoot(vertexNode(t));
+    }
+
+    // the node of the root is the label
+    @Override
+    public int rootLabel(int u) {
+        int s = dictionary.slotOf(u);
+        return s == NIL ? ParallelQueryTask.NO_LABEL : findRoot(vertexNode(s));
+    }
+
+    @Override
+    public void deleteTreeEdge(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (!(s == NIL || t == NIL)) {
+            int k = treeEdges.get(key(vertexNode(s), vertexNode(t)));
+            if (k != NIL)
+                cutEdge(k);
+        }
+    }
+
+    @Override
+    public boolean isTreeEdge(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (!(s == NIL || t == NIL))
+            return treeEdges.containsKey(key(vertexNode(s), vertexNode(t)));
+        return false;
+    }
+
+    @Override
+    public long treeEdgeWeight(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (!(s == NIL || t == NIL)) {
+            int k = treeEdges.get(key(vertexNode(s), vertexNode(t)));
+            if (k != NIL)
+                return weight[edgeNode(k)];
+        }
+        return NOT_A_TREE_EDGE;
+    }
+
+    @Override
+    public long minimumOnPath(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (s == NIL || t == NIL)
+            return NOT_CONNECTED;
+        if (s == t)
+            return Long.MAX_VALUE;
+
+        s = vertexNode(s);
+        t = vertexNode(t);
+        makeRoot(s);
+        if (findRoot(t) != s)
+            return NOT_CONNECTED;
+        return weight[min[s]]; // s is the root of the splay tree representing exactly the path (s, ..., t), see insertEdge
+    }
+
+    @Override
+    public long memoryConsumption() {
+        return GraphLayout.parseInstance(dictionary, treeEdges, freeEdges, edgeSource, edgeTarget, left, right, parent, min, weight, revert).totalSize();
+    }
+
+    private static int vertexNode(int slot) {
+        return slot << 1;
+    }
+
+    private static int edgeNode(int k) {
+        return (k << 1) | 1;
+    }
+
+    private static int edgeIndex(int node) {
+        return node >>> 1;
+    }
+
+    private static long key(int s, int t) {
+        return s < t ? ((long) s << 32) | t : ((long) t << 32) | s;
+    }
+
+    private int acquire(int u) {
+        int slot = dictionary.acquire(u);
+        if (slot >= numOfVertexSlots) {
+            ensureNode(vertexNode(slot));
+            for (int i = numOfVertexSlots; i <= slot; i++)
+                resetNode(vertexNode(i), Long.MAX_VALUE);
+            numOfVertexSlots = slot + 1;
+        }
+        return slot;
+    }
+
+    // a vertex leaving the window has no tree edges, such that its node is isolated and can be reset for the next vertex
+    private void release(int u) {
+        int slot = dictionary.release(u);
+        if (slot != NIL)
+            resetNode(vertexNode(slot), Long.MAX_VALUE);
+    }
+
+    private void ensureNode(int x) {
+        if (x < left.length)
+            return;
+        int capacity = Math.max(left.length << 1, x + 1);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        min = Arrays.copyOf(min, capacity);
+        weight = Arrays.copyOf(weight, capacity);
+        revert = Arrays.copyOf(revert, capacity);
+    }
+
+    private void resetNode(int x, long w) {
+        left[x] = NIL;
+        right[x] = NIL;
+        parent[x] = NIL;
+        min[x] = x;
+        weight[x] = w;
+        revert[x] = false;
+    }
+
+    private void linkEdge(int s, int t, long w) {
+        int k;
+        if (freeEdges.isEmpty()) {
+            k = numOfEdges++;
+            if (k == edgeSource.length) {
+                edgeSource = Arrays.copyOf(edgeSource, k << 1);
+                edgeTarget = Arrays.copyOf(edgeTarget, k << 1);
+            }
+        } else
+            k = freeEdges.popInt();
+
+        int e = edgeNode(k);
+        ensureNode(e);
+        resetNode(e, w);
+        edgeSource[k] = s;
+        edgeTarget[k] = t;
+        treeEdges.put(key(s, t), k);
+
+        link(s, e);
+        link(e, t);
+    }
+
+    private void cutEdge(int k) {
+        int e = edgeNode(k), s = edgeSource[k], t = edgeTarget[k];
+        cut(s, e);
+        cut(e, t);
+        treeEdges.remove(key(s, t));
+        freeEdges.push(k);
+    }
+
+    // x and y are in different trees
+    private void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    // x and y are adjacent
+    private void cut(int x, int y) {
+        makeRoot(x);
+        access(y); // the splay tree of y represents the path (x, y), where x is the left child of y
+        left[y] = NIL;
+        parent[x] = NIL;
+        pull(y);
+    }
+
+    private void makeRoot(int x) {
+        access(x); // x is the deepest node in its preferred path
+        revert[x] = !revert[x]; // reversing the path makes x the root
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        int root = x;
+        push(root);
+        while (left[root] != NIL) {
+            root = left[root];
+            push(root);
+        }
+        splay(root);
+        return root;
+    }
+
+    private void access(int x) {
+        int last = NIL;
+        for (int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last; // the preferred child of y becomes last
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void push(int x) {
+        if (revert[x]) {
+            revert[x] = false;
+            int temp = left[x];
+            left[x] = right[x];
+            right[x] = temp;
+            if (left[x] != NIL)
+                revert[left[x]] = !revert[left[x]];
+            if (right[x] != NIL)
+                revert[right[x]] = !revert[right[x]];
+        }
+    }
+
+    private void pull(int x) {
+        int m = x;
+        if (left[x] != NIL && weight[min[left[x]]] < weight[m])
+            m = min[left[x]];
+        if (right[x] != NIL && weight[min[right[x]]] < weight[m])
+            m = min[right[x]];
+        min[x] = m;
+    }
+
+    private void rotate(int x) {
+        int p = parent[x], g = parent[p];
+        boolean isRootP = isRoot(p);
+
+        if (left[p] == x) { // zig (right rotation)
+            left[p] = right[x];
+            if (right[x] != NIL)
+                parent[right[x]] = p;
+            right[x] = p;
+        } else { // zag (left rotation)
+            right[p] = left[x];
+            if (left[x] != NIL)
+                parent[left[x]] = p;
+            left[x] = p;
+        }
+
+        parent[p] = x;
+        parent[x] = g; // if p was the root of the splay tree, then x takes over the path parent
+        if (!isRootP) {
+            if (left[g] == p)
+                left[g] = x;
+            else
+                right[g] = x;
+        }
+
+        pull(p);
+        pull(x);
+    }
+
+    private void splay(int x) {
+        // push down the reversals from the root of the splay tree to x
+        stack.clear();
+        int y = x;
+        stack.push(y);
+        while (!isRoot(y)) {
+            y = parent[y];
+            stack.push(y);
+        }
+        while (!stack.isEmpty())
+            push(stack.popInt());
+
+        while (!isRoot(x)) {
+            int p = parent[x];
+            if (!isRoot(p)) {
+                int g = parent[p];
+                // zig-zig: left-left or right-right
+                // zig-zag: left-right or right-left
+                rotate((left[g] == p) == (left[p] == x) ? p /*zig-zig*/ : x /*zig-zag*/);
+            }
+            rotate(x);
+        }
+    }
+}
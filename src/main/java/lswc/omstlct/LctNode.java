@@ -4,6 +4,7 @@ public class LctNode {
     int value;
 
     LctNode left, right, parent, pathParent;
+    LctNode repParent; // parent in the represented tree
     long repTreeEdgeWeight; // weight is for the edge of the node to its parent in the represented tree
 
     boolean revert;
@@ -21,6 +22,8 @@ public class LctNode {
 
         this.pathParent = null;
 
+        this.repParent = null;
+
         this.repTreeEdgeWeight = Long.MAX_VALUE;
 
         this.revert = false;
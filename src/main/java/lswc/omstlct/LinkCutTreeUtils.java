@@ -1,7 +1,6 @@
 package lswc.omstlct;
 
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
 import java.util.ArrayDeque;
 
@@ -42,7 +41,7 @@ public class LinkCutTreeUtils {
         return last;
     }
 
-    public static void findMinimumEdgeInCycleOf(LctNode n1, LctNode n2, RepTreeEdge minimumEdge, Int2IntOpenHashMap childParentMap, Int2ObjectOpenHashMap<LctNode> nodeHashMap) {
+    public static void findMinimumEdgeInCycleOf(LctNode n1, LctNode n2, RepTreeEdge minimumEdge) {
         minimumEdge.weight = Long.MAX_VALUE;
 
         access(n1);
@@ -51,8 +50,7 @@ public class LinkCutTreeUtils {
         LctNode minCh, minPa;
 
 //        LctNode parentOfLca = getRepParent(lca);
-        int parentValue = childParentMap.getOrDefault(lca.value, Integer.MIN_VALUE);
-        LctNode parentOfLca = parentValue == Integer.MIN_VALUE ? null : nodeHashMap.get(parentValue);
+        LctNode parentOfLca = lca.repParent;
 
         if (lca == n1) {
             minCh = computeMinimumEdgeOfPath(parentOfLca, lca, n2);
@@ -68,7 +66,7 @@ public class LinkCutTreeUtils {
 //        int minPaValue = childParentMap.getOrDefault(minCh.value, Integer.MIN_VALUE);
 //        minPa = minPaValue == Integer.MIN_VALUE ? null : nodeHashMap.get(minPaValue);
 
-        minPa = nodeHashMap.get(childParentMap.get(minCh.value));
+        minPa = minCh.repParent;
 
         minimumEdge.source = minCh;
         minimumEdge.target = minPa;
@@ -110,6 +108,7 @@ public class LinkCutTreeUtils {
         return root;
     }
 
+    // the parent in the represented tree is always kept in repParent; childParentMap is additionally updated if it is not null
     public static void link(LctNode v, LctNode w, long weight, Int2IntOpenHashMap childParentMap) {
         if (w.parent == null && w.pathParent == null && w.left == null) { // w is a root in its representing tree
             access(w);// w is the only node in its splay tree
@@ -125,7 +124,9 @@ public class LinkCutTreeUtils {
             w.repTreeEdgeWeight = weight;
             SplayTreeUtils.updateAgg(w);
 
-            childParentMap.put(w.value, v.value);
+            w.repParent = v;
+            if (childParentMap != null)
+                childParentMap.put(w.value, v.value);
         } else if (v.parent == null && v.pathParent == null && v.left == null) {  // v is a root in its representing tree
             access(v);// v is the only node in its splay tree
             access(w);
@@ -140,7 +141,9 @@ public class LinkCutTreeUtils {
             v.repTreeEdgeWeight = weight;
             SplayTreeUtils.updateAgg(v);
 
-            childParentMap.put(v.value, w.value);
+            v.repParent = w;
+            if (childParentMap != null)
+                childParentMap.put(v.value, w.value);
         } else {
             access(v);
             access(w);
@@ -169,7 +172,9 @@ public class LinkCutTreeUtils {
             SplayTreeUtils.updateAgg(small);
 
 
-            childParentMap.put(small.value, large.value);
+            small.repParent = large;
+            if (childParentMap != null)
+                childParentMap.put(small.value, large.value);
         }
     }
 
@@ -201,7 +206,8 @@ public class LinkCutTreeUtils {
             prevWeight = temp;
 
             // ***start*** change the child parent relationship
-            if (prev != null) {
+            curr.repParent = prev; // after re-rooting, prev is the parent of curr
+            if (prev != null && childParent != null) {
                 // before re-rooting: child-parent is prev-curr, which needs to be deleted
                 childParent.remove(prev.value, curr.value);
                 // after re-rooting: child-parent is curr-prev, which needs to be added
@@ -233,6 +239,13 @@ public class LinkCutTreeUtils {
         }
     }
 
+    // set the weight of the edge of v to its parent in the represented tree
+    public static void updateEdgeWeight(LctNode v, long weight) {
+        access(v); // v is the root of its splay tree, such that only the aggregate of v changes
+        v.repTreeEdgeWeight = weight;
+        SplayTreeUtils.updateAgg(v);
+    }
+
     // cut node from node's parent
     public static void cut(LctNode v) {
         access(v);
@@ -243,6 +256,7 @@ public class LinkCutTreeUtils {
             v.resetEdgeWeight();
             v.nodeWithTheMinWeight = null;
         }
+        v.repParent = null;
     }
 
     private static class SplayTreeUtils {
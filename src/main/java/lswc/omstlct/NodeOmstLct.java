@@ -0,0 +1,37 @@
+package lswc.omstlct;
+
+// Maximum spanning forest on link-cut trees built on node objects, whose insertion of an edge is composed of the node-based operations below
+public interface NodeOmstLct extends OmstLct {
+    boolean query(LctNode u, LctNode v);
+
+    LctNode getNode(int u);
+
+    void insertTreeEdge(LctNode u, LctNode v, long weight);
+
+    void replace(RepTreeEdge minimumEdge, LctNode newEdgeSource, LctNode newEdgeTarget, long newEdgeWeight);
+
+    RepTreeEdge findMinimum(LctNode u, LctNode v);
+
+    // Process the insertion of the edge (u, v) with the given weight into the maximum spanning tree
+    @Override
+    default void insertEdge(int u, int v, long weight) {
+        LctNode nodeU = getNode(u), nodeV = getNode(v);
+
+        // the case of a re-arriving tree edge, whose weight is refreshed by a point update, see deleteEdge(u, v, lessThan)
+        LctNode child = nodeU.repParent == nodeV ? nodeU : nodeV.repParent == nodeU ? nodeV : null;
+        if (child != null) {
+            if (child.repTreeEdgeWeight < weight)
+                LinkCutTreeUtils.updateEdgeWeight(child, weight);
+            return;
+        }
+
+        if (!query(nodeU, nodeV)) {// the case of inserting a tree edge
+            insertTreeEdge(nodeU, nodeV, weight);
+        } else {
+            RepTreeEdge minimumEdge = findMinimum(nodeU, nodeV);
+
+            if (minimumEdge.weight < weight)
+                replace(minimumEdge, nodeU, nodeV, weight);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package lswc.omstlct;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Off-heap storage of the link-cut tree nodes, addressed by int slot
+// Each node is a fixed-size record in a direct buffer; records are grouped into pages, because a single buffer cannot exceed 2GB
+class OffHeapLctStore {
+    static final int NIL = -1;
+
+    // record layout, the long field comes first to keep it aligned
+    private static final int WEIGHT = 0; // weight of the edge of the node to its parent in the represented tree
+    private static final int LEFT = 8, RIGHT = 12, PARENT = 16, PATH_PARENT = 20;
+    private static final int REP_PARENT = 24; // parent in the represented tree
+    private static final int MIN = 28; // node with the minimum weight in the splay subtree
+    private static final int SIZE = 32;
+    private static final int REVERT = 36;
+    private static final int RECORD_SIZE = 40;
+
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+    private static final int PAGE_BYTES = RECORD_SIZE << PAGE_SHIFT;
+
+    private ByteBuffer[] pages;
+    private int numOfPages;
+
+    OffHeapLctStore() {
+        this.pages = new ByteBuffer[16];
+        this.numOfPages = 0;
+    }
+
+    // make sure the slot is backed by a page
+    void ensureCapacity(int slot) {
+        int page = slot >>> PAGE_SHIFT;
+        while (numOfPages <= page) {
+            if (numOfPages == pages.length)
+                pages = Arrays.copyOf(pages, pages.length << 1);
+            pages[numOfPages++] = ByteBuffer.allocateDirect(PAGE_BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    void reset(int x) {
+        ByteBuffer page = page(x);
+        int offset = offset(x);
+        page.putLong(offset + WEIGHT, Long.MAX_VALUE);
+        page.putInt(offset + LEFT, NIL);
+        page.putInt(offset + RIGHT, NIL);
+        page.putInt(offset + PARENT, NIL);
+        page.putInt(offset + PATH_PARENT, NIL);
+        page.putInt(offset + REP_PARENT, NIL);
+        page.putInt(offset + MIN, NIL);
+        page.putInt(offset + SIZE, 1);
+        page.put(offset + REVERT, (byte) 0);
+    }
+
+    long offHeapBytes() {
+        return (long) numOfPages * PAGE_BYTES;
+    }
+
+    private ByteBuffer page(int x) {
+        return pages[x >>> PAGE_SHIFT];
+    }
+
+    private static int offset(int x) {
+        return (x & PAGE_MASK) * RECORD_SIZE;
+    }
+
+    long weight(int x) {
+        return page(x).getLong(offset(x) + WEIGHT);
+    }
+
+    void weight(int x, long weight) {
+        page(x).putLong(offset(x) + WEIGHT, weight);
+    }
+
+    int left(int x) {
+        return page(x).getInt(offset(x) + LEFT);
+    }
+
+    void left(int x, int left) {
+        page(x).putInt(offset(x) + LEFT, left);
+    }
+
+    int right(int x) {
+        return page(x).getInt(offset(x) + RIGHT);
+    }
+
+    void right(int x, int right) {
+        page(x).putInt(offset(x) + RIGHT, right);
+    }
+
+    int parent(int x) {
+        return page(x).getInt(offset(x) + PARENT);
+    }
+
+    void parent(int x, int parent) {
+        page(x).putInt(offset(x) + PARENT, parent);
+    }
+
+    int pathParent(int x) {
+        return page(x).getInt(offset(x) + PATH_PARENT);
+    }
+
+    void pathParent(int x, int pathParent) {
+        page(x).putInt(offset(x) + PATH_PARENT, pathParent);
+    }
+
+    int repParent(int x) {
+        return page(x).getInt(offset(x) + REP_PARENT);
+    }
+
+    void repParent(int x, int repParent) {
+        page(x).putInt(offset(x) + REP_PARENT, repParent);
+    }
+
+    int min(int x) {
+        return page(x).getInt(offset(x) + MIN);
+    }
+
+    void min(int x, int min) {
+        page(x).putInt(offset(x) + MIN, min);
+    }
+
+    int size(int x) {
+        return page(x).getInt(offset(x) + SIZE);
+    }
+
+    void size(int x, int size) {
+        page(x).putInt(offset(x) + SIZE, size);
+    }
+
+    boolean revert(int x) {
+        return page(x).get(offset(x) + REVERT) != 0;
+    }
+
+    void revert(int x, boolean revert) {
+        page(x).put(offset(x) + REVERT, (byte) (revert ? 1 : 0));
+    }
+}
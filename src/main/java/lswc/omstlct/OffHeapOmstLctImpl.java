@@ -0,0 +1,469 @@
+package lswc.omstlct;
+
+import lswc.HashVertexDictionary;
+import lswc.ParallelQueryTask;
+import lswc.VertexDictionary;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.openjdk.jol.info.GraphLayout;
+
+import static lswc.omstlct.OffHeapLctStore.NIL;
+
+// Implementation of the OMST LC-Tree, where the link-cut tree nodes are kept in off-heap memory and addressed by the slots given by a vertex dictionary
+// The parent in the represented tree is stored in each node, such that the child-parent map is not needed
+public class OffHeapOmstLctImpl implements OmstLct {
+    private final VertexDictionary dictionary;
+    private final OffHeapLctStore store;
+    private int numOfSlots; // slots in [0, numOfSlots) are initialized
+
+    // the minimum edge found by findMinimumEdgeInCycleOf, i.e., the edge (minimumChild, minimumParent)
+    private int minimumChild, minimumParent;
+    private long minimumWeight;
+
+    // reused stacks for the traversals during re-rooting
+    private final IntArrayList stack, result;
+
+    public OffHeapOmstLctImpl() {
+        this(new HashVertexDictionary());
+    }
+
+    public OffHeapOmstLctImpl(VertexDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.store = new OffHeapLctStore();
+        this.numOfSlots = 0;
+        this.stack = new IntArrayList();
+        this.result = new IntArrayList();
+    }
+
+    @Override
+    public void insertEdge(int u, int v, long weight) {
+        int s = acquire(u), t = acquire(v);
+
+        if (store.repParent(s) == t || store.repParent(t) == s) { // the case of a re-arriving tree edge, whose weight is refreshed by a point update
+            int child = store.repParent(s) == t ? s : t;
+            if (store.weight(child) < weight) {
+                access(child); // child is the root of its splay tree, such that only the aggregate of child changes
+                store.weight(child, weight);
+                updateAgg(child);
+            }
+        } else if (!connected(s, t)) { // the case of inserting a tree edge
+            link(s, t, weight);
+        } else {
+            findMinimumEdgeInCycleOf(s, t);
+
+            if (minimumWeight < weight) {
+                cutTreeEdge(minimumChild, minimumParent);
+                link(s, t, weight);
+            }
+        }
+    }
+
+    @Override
+    public void deleteEdge(int u, int v) {
+        // u and v hold references for the expired edge, such that both have slots
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (store.repParent(s) == t || store.repParent(t) == s)
+            cutTreeEdge(s, t);
+        release(u);
+        release(v);
+    }
+
+    @Override
+    public void deleteEdge(int u, int v, long lessThan) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if ((store.repParent(s) == t && store.weight(s) < lessThan) || (store.repParent(t) == s && store.weight(t) < lessThan))
+            cutTreeEdge(s, t);
+        release(u);
+        release(v);
+    }
+
+    @Override
+    public boolean query(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+
+        if (s == NIL || t == NIL)
+            return false;
+
+        return connected(s, t);
+    }
+
+    // the slot of the root is the label
+    @Override
+    public int rootLabel(int u) {
+        int s = dictionary.slotOf(u);
+        return s == NIL ? ParallelQueryTask.NO_LABEL : findRoot(s);
+    }
+
+    @Override
+    public void deleteTreeEdge(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (!(s == NIL || t == NIL))
+            cutTreeEdge(s, t);
+    }
+
+    @Override
+    public boolean isTreeEdge(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (!(s == NIL || t == NIL))
+            return store.repParent(s) == t || store.repParent(t) == s;
+        return false;
+    }
+
+    @Override
+    public long treeEdgeWeight(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (!(s == NIL || t == NIL)) {
+            if (store.repParent(s) == t)
+                return store.weight(s);
+            if (store.repParent(t) == s)
+                return store.weight(t);
+        }
+        return NOT_A_TREE_EDGE;
+    }
+
+    @Override
+    public long minimumOnPath(int u, int v) {
+        int s = dictionary.slotOf(u), t = dictionary.slotOf(v);
+        if (s == NIL || t == NIL)
+            return NOT_CONNECTED;
+        if (s == t)
+            return Long.MAX_VALUE;
+        if (!connected(s, t))
+            return NOT_CONNECTED;
+        findMinimumEdgeInCycleOf(s, t);
+        return minimumWeight;
+    }
+
+    @Override
+    public long memoryConsumption() {
+        return GraphLayout.parseInstance(dictionary, stack, result).totalSize() + store.offHeapBytes();
+    }
+
+    private int acquire(int u) {
+        int slot = dictionary.acquire(u);
+        if (slot >= numOfSlots) {
+            store.ensureCapacity(slot);
+            for (int i = numOfSlots; i <= slot; i++)
+                store.reset(i);
+            numOfSlots = slot + 1;
+        }
+        return slot;
+    }
+
+    // a vertex leaving the window is the only node in its represented tree, such that its slot can be reset for the next vertex
+    private void release(int u) {
+        int slot = dictionary.release(u);
+        if (slot != NIL)
+            store.reset(slot);
+    }
+
+    private void cutTreeEdge(int s, int t) {
+        if (store.repParent(s) == t) {
+            cut(s);
+            store.repParent(s, NIL);
+        } else {
+            cut(t);
+            store.repParent(t, NIL);
+        }
+    }
+
+    private boolean connected(int u, int v) {
+        access(u);
+        access(v);
+        return store.pathParent(u) != NIL || store.parent(u) != NIL;
+    }
+
+    private int findRoot(int v) {
+        access(v);
+        int root = v;
+        while (store.left(root) != NIL)
+            root = store.left(root);
+        splay(root); // splaying the root makes visiting it again faster
+        return root;
+    }
+
+    private int access(int v) {
+        splay(v); // Make v be the root of the splay tree containing v
+
+        // If v has a right child, detach it and set its pathParent to v.
+        detachRight(v);
+
+        int last = v;
+
+        // Traverse the path parents and perform splay operations.
+        while (store.pathParent(v) != NIL) {
+            int w = store.pathParent(v);
+
+            splay(w);
+
+            // Detach the existing right child of pathParent, if any.
+            detachRight(w);
+            // Make v the right child of its path parent.
+            setRightChild(w, v);
+
+            last = w;
+
+            // Splay v again to keep it at the root of the auxiliary tree.
+            splay(v);
+        }
+
+        return last;
+    }
+
+    private void findMinimumEdgeInCycleOf(int n1, int n2) {
+        access(n1);
+        int lca = access(n2);
+
+        int minCh;
+        int parentOfLca = store.repParent(lca);
+
+        if (lca == n1) {
+            minCh = computeMinimumEdgeOfPath(parentOfLca, lca, n2);
+        } else if (lca == n2) {
+            minCh = computeMinimumEdgeOfPath(parentOfLca, lca, n1);
+        } else {
+            int min1 = computeMinimumEdgeOfPath(parentOfLca, lca, n1);
+            int min2 = computeMinimumEdgeOfPath(parentOfLca, lca, n2);
+            minCh = store.weight(min1) < store.weight(min2) ? min1 : min2;
+        }
+
+        minimumChild = minCh;
+        minimumParent = store.repParent(minCh);
+        minimumWeight = store.weight(minCh);
+    }
+
+    private int computeMinimumEdgeOfPath(int parentOfFrom, int from, int to) {
+        access(to);
+        // If from is a root in the representing tree, then from is leftmost node in the splay tree representing the path (from, ..., to), where to is the root in the splay tree
+        if (parentOfFrom == NIL)
+            return store.min(to);
+        // If from is not a root, then accessing parentOfFrom makes the path (from, ..., to) a splay tree
+        access(parentOfFrom);
+        // Splaying from to exclude the information stored in from
+        splay(from); // from is the leftmost node in this splay tree
+        return store.min(store.right(from));
+    }
+
+    private void link(int v, int w, long weight) {
+        if (store.parent(w) == NIL && store.pathParent(w) == NIL && store.left(w) == NIL) { // w is a root in its representing tree
+            access(w);// w is the only node in its splay tree
+            access(v);
+
+            attach(w, v, weight); // w is a child of v in representing tree
+        } else if (store.parent(v) == NIL && store.pathParent(v) == NIL && store.left(v) == NIL) {  // v is a root in its representing tree
+            access(v);// v is the only node in its splay tree
+            access(w);
+
+            attach(v, w, weight); // v is a child of w in representing tree
+        } else {
+            access(v);
+            access(w);
+
+            int small, large;
+            if (store.size(v) > store.size(w)) {
+                small = w;
+                large = v;
+            } else {
+                small = v;
+                large = w;
+            }
+
+            reRoot(small);
+            access(small);// small is the only node in its splay tree
+
+            attach(small, large, weight); // small is a child of large in representing tree
+        }
+    }
+
+    // child is the only node in its splay tree, and parent is the root of its splay tree
+    private void attach(int child, int parent, long weight) {
+        store.left(child, parent); // child is deeper than parent in the splay tree
+        store.parent(parent, child);
+
+        // update path parent pointer
+        store.pathParent(child, store.pathParent(parent));
+        store.pathParent(parent, NIL);
+
+        store.weight(child, weight);
+        updateAgg(child);
+
+        store.repParent(child, parent);
+    }
+
+    private void reRoot(int v) {
+        access(v); // v is the root of the splay tree; v's right child is null
+        // after access, v is the deepest node in v's preferred path
+        // then, reverse the splay tree containing v will make v the root
+        reverseTree(v);
+
+        inorder(v);   // updating repTreeEdgeWeight and the parents in the represented tree
+        postorder(v); // postorder traversal for updating agg
+    }
+
+    private void inorder(int v) {
+        // inorder traversal for shifting the weights
+        stack.clear();
+        int curr = v, prev = NIL;
+        long prevWeight = Long.MAX_VALUE, temp;
+        while (curr != NIL || !stack.isEmpty()) {
+            while (curr != NIL) {
+                push(curr);
+                stack.push(curr);
+                curr = store.left(curr);
+            }
+            curr = stack.popInt();
+            temp = store.weight(curr);
+            store.weight(curr, prevWeight);
+            prevWeight = temp;
+
+            // after re-rooting, prev is the parent of curr
+            store.repParent(curr, prev);
+            prev = curr;
+
+            curr = store.right(curr);
+        }
+    }
+
+    private void postorder(int root) {
+        stack.clear();
+        result.clear();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            int node = stack.popInt();
+            result.push(node);
+
+            if (store.left(node) != NIL)
+                stack.push(store.left(node));
+
+            if (store.right(node) != NIL)
+                stack.push(store.right(node));
+        }
+
+        while (!result.isEmpty()) {
+            updateAgg(result.popInt());
+        }
+    }
+
+    // cut node from node's parent
+    private void cut(int v) {
+        access(v);
+        int left = store.left(v);
+        if (left != NIL) {
+            store.parent(left, NIL);
+            store.left(v, NIL); // v is the only node in its splay tree
+
+            store.weight(v, Long.MAX_VALUE);
+            store.min(v, NIL);
+        }
+    }
+
+    private void rotate(int x) {
+        int parent = store.parent(x);
+
+        if (parent == NIL)
+            return;
+
+        int grandParent = store.parent(parent);
+
+        if (x == store.left(parent)) { // zig (right rotation)
+            int xRight = store.right(x);
+            store.left(parent, xRight);
+
+            if (xRight != NIL)
+                store.parent(xRight, parent);
+
+            store.right(x, parent);
+        } else { // zag (left rotation)
+            int xLeft = store.left(x);
+            store.right(parent, xLeft);
+
+            if (xLeft != NIL)
+                store.parent(xLeft, parent);
+
+            store.left(x, parent);
+        }
+
+        store.parent(parent, x);
+
+        store.parent(x, grandParent);
+        if (grandParent != NIL) {
+            if (store.left(grandParent) == parent)
+                store.left(grandParent, x);
+            else
+                store.right(grandParent, x);
+        }
+
+        int pathParent = store.pathParent(parent);
+        if (pathParent != NIL) {
+            store.pathParent(x, pathParent);
+            store.pathParent(parent, NIL);
+        }
+        updateAgg(parent);
+    }
+
+    private void splay(int x) {
+        int xParent;
+        while ((xParent = store.parent(x)) != NIL) {
+            int xGrandParent = store.parent(xParent);
+
+            // zig-zig: left-left or right-right
+            // zig-zag: left-right or right-left
+            if (xGrandParent != NIL)
+                rotate((x == store.left(xParent)) == (xParent == store.left(xGrandParent)) ? xParent /*zig-zig*/ : x /*zig-zag*/);
+            rotate(x);
+        }
+        updateAgg(x);
+    }
+
+    private void push(int x) {
+        if (store.revert(x)) {
+            store.revert(x, false);
+            int left = store.left(x), right = store.right(x);
+            store.left(x, right);
+            store.right(x, left);
+            if (right != NIL)
+                store.revert(right, !store.revert(right));
+            if (left != NIL)
+                store.revert(left, !store.revert(left));
+        }
+    }
+
+    private void reverseTree(int v) {
+        store.revert(v, !store.revert(v));
+        push(v);
+    }
+
+    private void updateAgg(int x) {
+        int min = x, size = 1;
+        int left = store.left(x), right = store.right(x);
+        if (left != NIL) {
+            int leftMin = store.min(left);
+            if (store.weight(leftMin) < store.weight(min))
+                min = leftMin;
+            size += store.size(left);
+        }
+
+        if (right != NIL) {
+            int rightMin = store.min(right);
+            if (store.weight(rightMin) < store.weight(min))
+                min = rightMin;
+            size += store.size(right);
+        }
+        store.min(x, min);
+        store.size(x, size);
+    }
+
+    private void detachRight(int node) {
+        int right = store.right(node);
+        if (right != NIL) {
+            store.pathParent(right, node);
+            store.parent(right, NIL);
+            store.right(node, NIL);
+        }
+    }
+
+    private void setRightChild(int node, int right) {
+        store.right(node, right);
+        store.parent(right, node);
+        store.pathParent(right, NIL);
+    }
+}
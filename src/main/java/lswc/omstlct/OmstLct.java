@@ -1,21 +1,15 @@
 package lswc.omstlct;
 
-public interface OmstLct {
-    boolean query(int u, int v);
-
-    boolean query(LctNode u, LctNode v);
-
-    LctNode getNode(int u);
-
-    void insertTreeEdge(LctNode u, LctNode v, long weight);
-
-    void deleteTreeEdge(int u, int v);
-
-    void replace(RepTreeEdge minimumEdge, LctNode newEdgeSource, LctNode newEdgeTarget, long newEdgeWeight);
-
-    boolean isTreeEdge(int u, int v);
-
-    RepTreeEdge findMinimum(LctNode u, LctNode v);
-
-    long memoryConsumption();
+import lswc.MaximumSpanningForest;
+
+// Maximum spanning forest on link-cut trees over vertex ids, which the sliding window engine depends on
+// See NodeOmstLct for the implementation built on node objects
+public interface OmstLct extends MaximumSpanningForest {
+    // Unlike the dynamic trees, finding the root restructures the splay trees, such that it must not be called concurrently
+    @Override
+    int rootLabel(int u);
+
+    // It restructures the splay trees, but not the represented trees
+    @Override
+    long minimumOnPath(int u, int v);
 }
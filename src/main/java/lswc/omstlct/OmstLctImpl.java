@@ -1,21 +1,27 @@
 package lswc.omstlct;
 
+import lswc.ParallelQueryTask;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.openjdk.jol.info.GraphLayout;
 
 
-public class OmstLctImpl implements OmstLct {
+public class OmstLctImpl implements NodeOmstLct {
     private final Int2ObjectOpenHashMap<LctNode> nodeHashMap;
     private final RepTreeEdge weightedSpanningTreeEdge;
 
+    // null if the parents in the represented tree are only kept in the nodes, i.e., LctNode.repParent
     private final Int2IntOpenHashMap childParentMap;
 
     public OmstLctImpl() {
+        this(true);
+    }
+
+    public OmstLctImpl(boolean withChildParentMap) {
         this.nodeHashMap = new Int2ObjectOpenHashMap<>();
         this.weightedSpanningTreeEdge = new RepTreeEdge();
 
-        this.childParentMap = new Int2IntOpenHashMap();
+        this.childParentMap = withChildParentMap ? new Int2IntOpenHashMap() : null;
     }
 
     @Override
@@ -33,6 +39,12 @@ public class OmstLctImpl implements OmstLct {
         return LinkCutTreeUtils.connected(u, v);
     }
 
+    @Override
+    public int rootLabel(int u) {
+        LctNode node = nodeHashMap.get(u);
+        return node == null ? ParallelQueryTask.NO_LABEL : LinkCutTreeUtils.findRoot(node).value;
+    }
+
     @Override
     public LctNode getNode(int u) {
         return nodeHashMap.computeIfAbsent(u, k -> new LctNode(u));
@@ -52,7 +64,9 @@ public class OmstLctImpl implements OmstLct {
     }
 
     void deleteTreeEdge(LctNode nodeU, LctNode nodeV) {
-        if (childParentMap.getOrDefault(nodeU.value, Integer.MIN_VALUE) == nodeV.value) {
+        if (childParentMap == null) {
+            LinkCutTreeUtils.cut(nodeU.repParent == nodeV ? nodeU : nodeV);
+        } else if (childParentMap.getOrDefault(nodeU.value, Integer.MIN_VALUE) == nodeV.value) {
             LinkCutTreeUtils.cut(nodeU);
             childParentMap.remove(nodeU.value);
         } else {
@@ -69,18 +83,50 @@ public class OmstLctImpl implements OmstLct {
 
     @Override
     public boolean isTreeEdge(int u, int v) {
+        if (childParentMap == null) {
+            LctNode nodeU = nodeHashMap.get(u), nodeV = nodeHashMap.get(v);
+            if (!(nodeU == null || nodeV == null))
+                return nodeU.repParent == nodeV || nodeV.repParent == nodeU;
+            return false;
+        }
         return childParentMap.getOrDefault(u, Integer.MIN_VALUE) == v || childParentMap.getOrDefault(v, Integer.MIN_VALUE) == u;
     }
 
 
+    @Override
+    public long treeEdgeWeight(int u, int v) {
+        LctNode nodeU = nodeHashMap.get(u), nodeV = nodeHashMap.get(v);
+        if (!(nodeU == null || nodeV == null)) {
+            if (nodeU.repParent == nodeV)
+                return nodeU.repTreeEdgeWeight;
+            if (nodeV.repParent == nodeU)
+                return nodeV.repTreeEdgeWeight;
+        }
+        return NOT_A_TREE_EDGE;
+    }
+
     @Override
     public RepTreeEdge findMinimum(LctNode u, LctNode v) {
-        LinkCutTreeUtils.findMinimumEdgeInCycleOf(u, v, weightedSpanningTreeEdge, childParentMap, nodeHashMap);
+        LinkCutTreeUtils.findMinimumEdgeInCycleOf(u, v, weightedSpanningTreeEdge);
         return weightedSpanningTreeEdge;
     }
 
+    @Override
+    public long minimumOnPath(int u, int v) {
+        LctNode nodeU = nodeHashMap.get(u), nodeV = nodeHashMap.get(v);
+        if (nodeU == null || nodeV == null)
+            return NOT_CONNECTED;
+        if (nodeU == nodeV)
+            return Long.MAX_VALUE;
+        if (!query(nodeU, nodeV))
+            return NOT_CONNECTED;
+        return findMinimum(nodeU, nodeV).weight;
+    }
+
     @Override
     public long memoryConsumption() {
+        if (childParentMap == null)
+            return GraphLayout.parseInstance(nodeHashMap).totalSize();
         return GraphLayout.parseInstance(nodeHashMap).totalSize() + GraphLayout.parseInstance(childParentMap).totalSize();
     }
 }
@@ -1,47 +1,80 @@
 package lswc.omstlct;
 
 import lswc.AbstractSlidingWindowConnectivity;
+import lswc.Checkpointable;
+import lswc.ConcurrentLabelView;
+import lswc.OmstWindow;
 import lswc.StreamingEdge;
+import lswc.WindowCheckpoint;
 import it.unimi.dsi.fastutil.ints.IntIntPair;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 
-public class OmstLctSlidingWindowConnectivity extends AbstractSlidingWindowConnectivity {
+public class OmstLctSlidingWindowConnectivity extends AbstractSlidingWindowConnectivity implements Checkpointable {
     private final OmstLct lct;
-    private final Queue<StreamingEdge> window;
+    private final OmstWindow window;
 
     public OmstLctSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OmstLct lct) {
+        this(range, slide, workload, lct, false, false);
+    }
+
+    public OmstLctSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OmstLct lct, boolean labelSnapshot) {
+        this(range, slide, workload, lct, labelSnapshot, false);
+    }
+
+    public OmstLctSlidingWindowConnectivity(Duration range, Duration slide, List<IntIntPair> workload, OmstLct lct, boolean labelSnapshot, boolean treeEdgeExpiry) {
         super(range, slide, workload);
         this.lct = lct;
-        this.window = new ArrayDeque<>();
+        this.window = new OmstWindow(lct, super.range, workload, labelSnapshot, treeEdgeExpiry);
+    }
+
+    // see OmstWindow.addRange
+    public void addRange(Duration range, List<List<Boolean>> outputStreams) {
+        window.addRange(range, outputStreams);
+    }
+
+    // see OmstWindow.concurrentView
+    public ConcurrentLabelView concurrentView() {
+        return window.concurrentView();
+    }
+
+    // see OmstWindow.query
+    public boolean query(int source, int target, Duration range) {
+        return window.query(source, target, range);
     }
 
     @Override
     public void insert(StreamingEdge streamingEdge) {
-        window.add(streamingEdge);
-
-        int s = streamingEdge.source, t = streamingEdge.target;
-        LctNode nodeS = lct.getNode(s), nodeT = lct.getNode(t);
+        window.insert(streamingEdge);
+    }
 
+    @Override
+    public void insertBatch(StreamingEdge[] streamingEdges, int from, int to) {
+        window.insertBatch(streamingEdges, from, to);
+    }
 
-        if (!lct.query(nodeS, nodeT)) {// the case of inserting a tree edge
-            lct.insertTreeEdge(nodeS, nodeT, streamingEdge.timeStamp);
-        } else {
-            RepTreeEdge minimumEdge = lct.findMinimum(nodeS, nodeT);
+    @Override
+    public void checkpoint(Path path) {
+        WindowCheckpoint.Writer writer = checkpointWriter();
+        window.writeCheckpoint(writer);
+        writer.write(path);
+    }
 
-            if (minimumEdge.weight < streamingEdge.timeStamp)
-                lct.replace(minimumEdge, nodeS, nodeT, streamingEdge.timeStamp);
-        }
+    @Override
+    public void restore(Path path) {
+        window.restoreCheckpoint(restoreCursor(path));
     }
 
     @Override
     public void evict(long lessThan) {
-        while (!window.isEmpty() && window.peek().timeStamp < lessThan) {
-            StreamingEdge streamingEdge = window.poll();
-            if (lct.isTreeEdge(streamingEdge.source, streamingEdge.target))
-                lct.deleteTreeEdge(streamingEdge.source, streamingEdge.target);
-        }
+        window.evict(lessThan);
+    }
+
+    // see OmstWindow.connectedUntil
+    public long connectedUntil(int source, int target) {
+        return window.connectedUntil(source, target);
     }
 
     @Override
@@ -51,12 +84,20 @@ public class OmstLctSlidingWindowConnectivity extends AbstractSlidingWindowConne
 
     @Override
     public void query(List<IntIntPair> queries, List<List<Boolean>> outputStreams) {
+        if (window.query(queries, outputStreams))
+            return;
         for (int i = 0; i < queries.size(); i++) {
             IntIntPair intIntPair = queries.get(i);
             outputStreams.get(i).add(lct.query(intIntPair.firstInt(), intIntPair.secondInt()));
         }
     }
 
+    @Override
+    protected void addDisconnected(List<List<Boolean>> outputStreams, int numOfWindows) {
+        super.addDisconnected(outputStreams, numOfWindows);
+        window.addDisconnected(numOfWindows);
+    }
+
     @Override
     public long memoryConsumption() {
         return lct.memoryConsumption();
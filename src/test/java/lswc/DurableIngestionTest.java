@@ -0,0 +1,124 @@
+package lswc;
+
+import lswc.omst.OptimizedMstArrayImpl;
+import lswc.omst.OptimizedMstSlidingWindowConnectivity;
+import it.unimi.dsi.fastutil.ints.IntIntPair;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DurableIngestionTest {
+    private static final Duration RANGE = Duration.ofMillis(5000), SLIDE = Duration.ofMillis(1000);
+    private static final int NUM_OF_VERTICES = 500, NUM_OF_EDGES = 5000;
+    private static final long SEGMENT_SIZE = 16 * 256; // 256 edges per segment
+    private static final int SYNC_INTERVAL = 64;
+    private static final long CHECKPOINT_INTERVAL = 1000;
+
+    // the process crashes in the middle of a portion, before the first checkpoint and after several ones,
+    // and the recovered engine continues the stream with the window instances of an uninterrupted run
+    @ParameterizedTest
+    @ValueSource(ints = {300, 1000, 2345, 4999})
+    void recoveryContinuesAnUninterruptedRun(int crashAfter, @TempDir Path directory) {
+        Random random = new Random(crashAfter);
+        List<StreamingEdge> stream = stream(random);
+        List<IntIntPair> workload = workload(random);
+
+        List<List<Boolean>> expected = outputStreams(workload);
+        engine(workload).computeSlidingWindowConnectivity(stream, expected);
+
+        // the crashed ingestion is not closed, such that the edges appended after its latest sync are lost
+        List<List<Boolean>> beforeCrash = outputStreams(workload);
+        DurableIngestion crashed = new DurableIngestion(engine(workload), directory, SEGMENT_SIZE, SYNC_INTERVAL, CHECKPOINT_INTERVAL);
+        assertThrows(IllegalStateException.class, () -> crashed.computeSlidingWindowConnectivity(crashingAfter(stream, crashAfter), beforeCrash));
+
+        List<List<Boolean>> afterCrash = outputStreams(workload);
+        try (DurableIngestion recovered = new DurableIngestion(engine(workload), directory, SEGMENT_SIZE, SYNC_INTERVAL, CHECKPOINT_INTERVAL)) {
+            int position = Math.toIntExact(recovered.recover(afterCrash));
+            recovered.computeSlidingWindowConnectivity(EdgeSource.of(stream.subList(position, stream.size())), afterCrash);
+        }
+
+        for (int i = 0; i < workload.size(); i++) {
+            List<Boolean> all = expected.get(i), replayed = afterCrash.get(i);
+            int numOfCheckpointed = all.size() - replayed.size(); // the window instances before the restored checkpoint
+            assertFalse(replayed.isEmpty());
+            assertEquals(all.subList(numOfCheckpointed, all.size()), replayed);
+            assertEquals(all.subList(0, numOfCheckpointed), beforeCrash.get(i).subList(0, numOfCheckpointed));
+        }
+    }
+
+    private static OptimizedMstSlidingWindowConnectivity engine(List<IntIntPair> workload) {
+        return new OptimizedMstSlidingWindowConnectivity(RANGE, SLIDE, workload, new OptimizedMstArrayImpl(true));
+    }
+
+    // edges without duplicates, where a few gaps are longer than the range
+    private static List<StreamingEdge> stream(Random random) {
+        List<StreamingEdge> stream = new ArrayList<>();
+        Set<IntIntPair> pairs = new HashSet<>();
+        long timeStamp = 0;
+        while (stream.size() < NUM_OF_EDGES) {
+            timeStamp += random.nextInt(16);
+            if (random.nextInt(2000) == 0)
+                timeStamp += 2 * RANGE.toMillis();
+            int source = random.nextInt(NUM_OF_VERTICES), target = random.nextInt(NUM_OF_VERTICES);
+            if (source != target && pairs.add(IntIntPair.of(Math.min(source, target), Math.max(source, target))))
+                stream.add(new StreamingEdge(source, target, timeStamp));
+        }
+        return stream;
+    }
+
+    private static List<IntIntPair> workload(Random random) {
+        List<IntIntPair> workload = new ArrayList<>();
+        for (int i = 0; i < 30; i++)
+            workload.add(IntIntPair.of(random.nextInt(NUM_OF_VERTICES), random.nextInt(NUM_OF_VERTICES)));
+        return workload;
+    }
+
+    private static List<List<Boolean>> outputStreams(List<IntIntPair> workload) {
+        List<List<Boolean>> outputStreams = new ArrayList<>();
+        for (int i = 0; i < workload.size(); i++)
+            outputStreams.add(new ArrayList<>());
+        return outputStreams;
+    }
+
+    // the edges of the stream up to a failure after the given num of edges
+    private static EdgeSource crashingAfter(List<StreamingEdge> stream, int numOfEdges) {
+        EdgeSource upstream = EdgeSource.of(stream);
+        return new EdgeSource() {
+            private int num = 0;
+
+            @Override
+            public boolean advance() {
+                if (num++ == numOfEdges)
+                    throw new IllegalStateException("Crashed after " + numOfEdges + " edges");
+                return upstream.advance();
+            }
+
+            @Override
+            public int source() {
+                return upstream.source();
+            }
+
+            @Override
+            public int target() {
+                return upstream.target();
+            }
+
+            @Override
+            public long timeStamp() {
+                return upstream.timeStamp();
+            }
+        };
+    }
+}
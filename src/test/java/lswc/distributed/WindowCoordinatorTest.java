@@ -0,0 +1,97 @@
+package lswc.distributed;
+
+import lswc.EdgeSource;
+import lswc.StreamingEdge;
+import lswc.omst.OptimizedMstArrayImpl;
+import lswc.omst.OptimizedMstSlidingWindowConnectivity;
+import it.unimi.dsi.fastutil.ints.IntIntPair;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class WindowCoordinatorTest {
+    private static final Duration RANGE = Duration.ofMillis(5000), SLIDE = Duration.ofMillis(1000);
+    private static final int NUM_OF_VERTICES = 500, NUM_OF_EDGES = 20000;
+
+    // every worker reads the whole stream and sends the edges of its partition over the loopback interface,
+    // such that the coordinator computes the window instances of a single engine over the stream
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3})
+    @Timeout(60)
+    void coordinatorComputesTheWindowInstancesOfTheStream(int numOfWorkers) throws IOException, InterruptedException {
+        Random random = new Random(numOfWorkers);
+        List<StreamingEdge> stream = stream(random);
+        List<IntIntPair> workload = workload(random);
+        long firstTimeStamp = stream.get(0).timeStamp;
+
+        List<List<Boolean>> expected = outputStreams(workload);
+        new OptimizedMstSlidingWindowConnectivity(RANGE, SLIDE, workload, new OptimizedMstArrayImpl(true)).computeSlidingWindowConnectivity(stream, expected);
+
+        List<List<Boolean>> outputStreams = outputStreams(workload);
+        ExecutorService executor = Executors.newFixedThreadPool(numOfWorkers);
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            SocketAddress address = server.getLocalAddress();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int partition = 0; partition < numOfWorkers; partition++)
+                workers.add(executor.submit(new WindowWorker(address, EdgeSource.of(stream), partition, numOfWorkers, firstTimeStamp, RANGE, SLIDE)));
+
+            OptimizedMstSlidingWindowConnectivity engine = new OptimizedMstSlidingWindowConnectivity(RANGE, SLIDE, workload, new OptimizedMstArrayImpl(true), false, true);
+            new WindowCoordinator(engine, workload, RANGE, SLIDE, firstTimeStamp).run(server, numOfWorkers, outputStreams);
+            for (Future<?> worker : workers)
+                worker.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertFalse(expected.get(0).isEmpty());
+        assertEquals(expected, outputStreams);
+    }
+
+    // edges with multi-edges, where a few gaps are longer than the range
+    private static List<StreamingEdge> stream(Random random) {
+        List<StreamingEdge> stream = new ArrayList<>();
+        long timeStamp = 0;
+        while (stream.size() < NUM_OF_EDGES) {
+            timeStamp += random.nextInt(16);
+            if (random.nextInt(5000) == 0)
+                timeStamp += 2 * RANGE.toMillis();
+            int source = random.nextInt(NUM_OF_VERTICES), target = random.nextInt(NUM_OF_VERTICES);
+            if (source != target)
+                stream.add(new StreamingEdge(source, target, timeStamp));
+        }
+        return stream;
+    }
+
+    private static List<IntIntPair> workload(Random random) {
+        List<IntIntPair> workload = new ArrayList<>();
+        for (int i = 0; i < 30; i++)
+            workload.add(IntIntPair.of(random.nextInt(NUM_OF_VERTICES), random.nextInt(NUM_OF_VERTICES)));
+        return workload;
+    }
+
+    private static List<List<Boolean>> outputStreams(List<IntIntPair> workload) {
+        List<List<Boolean>> outputStreams = new ArrayList<>();
+        for (int i = 0; i < workload.size(); i++)
+            outputStreams.add(new ArrayList<>());
+        return outputStreams;
+    }
+}